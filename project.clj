@@ -32,8 +32,14 @@
             "lint"         ["with-profile" "linter" "run" "-m" "clj-kondo.main" "--lint" "src" "test"]
             "test"         ["with-profile" "+dev,+test,+clitest" "trampoline" "run" "-m" "test-runner/run-from-cli!"]
             "t"            "test"
+            "perf"         ["with-profile" "+dev,+test" "trampoline" "run" "-m" "perf-runner/run-from-cli!"]
+            "scaling"      ["with-profile" "+dev,+test" "trampoline" "run" "-m" "scaling-bench/run-from-cli!"]
             "native-image" ["do"
                             ["shell" "./scripts/setup_graalvm.sh"]
                             ["shell" "./scripts/build_native_image.sh"]]
             "linux-image"  ["shell" "./scripts/build_linux_image_with_docker.sh"]
+            "cds-archive"  ["do"
+                            ["uberjar"]
+                            ["shell" "./scripts/build_cds_archive.sh"]]
+            "cds-bench"    ["shell" "./scripts/bench_startup.sh"]
             "fmt"          ["with-profile" "+dev,+test" "trampoline" "run" "-m" "repl/format-project!"]})
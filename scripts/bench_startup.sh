@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+cd "$(dirname $0)/.."
+root_dir="$(pwd)"
+runs="${RUNS:-10}"
+jar="$root_dir/target/cds/imo.jar"
+
+if [[ ! -f "$jar" ]]; then
+  echo "CDS archive not found, run scripts/build_cds_archive.sh first"
+  exit 1
+fi
+
+# Run benchmarks in an empty directory so that project's imo.edn and
+# cache files do not affect the results
+work_dir="$(mktemp -d)"
+trap 'rm -rf "$work_dir"' EXIT
+cd "$work_dir"
+echo '{:cache false}' > imo.edn
+echo '(ns bench.startup (:require [clojure.string :as string])) (defn f [x] (string/upper-case x))' > input.clj
+
+# Baseline is a plain JVM that uses the JDK's default CDS archive like any
+# real setup does, so the speedup is measured against the app archive only
+declare -a names=("JVM" "CDS JVM")
+declare -a cmds=(
+  "java -cp $jar imo.main -"
+  "$root_dir/target/cds/imo -"
+)
+
+native_image="$(ls "$root_dir"/target/native/imo-* 2> /dev/null | head -n 1 || true)"
+if [[ -n "$native_image" ]]; then
+  names+=("native image")
+  cmds+=("$native_image -")
+fi
+
+if command -v hyperfine > /dev/null; then
+  args=()
+  for i in "${!cmds[@]}"; do
+    args+=(-n "${names[$i]}" "${cmds[$i]} < input.clj")
+  done
+  hyperfine --warmup 2 --runs "$runs" "${args[@]}"
+  exit 0
+fi
+
+for i in "${!cmds[@]}"; do
+  ${cmds[$i]} < input.clj > /dev/null 2>&1
+  start=$(date +%s%N)
+  for _ in $(seq "$runs"); do
+    ${cmds[$i]} < input.clj > /dev/null 2>&1
+  done
+  end=$(date +%s%N)
+  printf "%-14s %8d ms\n" "${names[$i]}" "$(( (end - start) / runs / 1000000 ))"
+done
@@ -0,0 +1,39 @@
+#!/usr/bin/env bash
+set -euo pipefail
+
+cd "$(dirname $0)/.."
+root_dir="$(pwd)"
+cds_dir="$root_dir/target/cds"
+jar="$cds_dir/imo.jar"
+class_list="$cds_dir/imo.classlist"
+archive="$cds_dir/imo.jsa"
+training_ns='(ns imo.training (:require [clojure.string :as string])) (defn greet [{:keys [name]}] (let [s (string/trim name)] (str "Hello, " s "!")))'
+
+if [[ ! -f target/uberjar/imo.jar ]]; then
+  echo "Build uberjar"
+  lein uberjar
+fi
+
+rm -rf "$cds_dir"
+mkdir -p "$cds_dir"
+# Archive is bound to the exact class path used when dumping it, so the
+# jar is copied next to the archive and the launcher uses that copy
+cp target/uberjar/imo.jar "$jar"
+cp scripts/imo-cds "$cds_dir/imo"
+chmod +x "$cds_dir/imo"
+
+echo "Training run: collect loaded classes"
+java -Xshare:off -XX:DumpLoadedClassList="$class_list.1" -cp "$jar" imo.main \
+  --config-edn '{:cache false}' --check test/__files__/clojure_core.clj > /dev/null 2>&1 || true
+echo "$training_ns" | java -Xshare:off -XX:DumpLoadedClassList="$class_list.2" -cp "$jar" imo.main \
+  --config-edn '{:cache false}' - > /dev/null 2>&1
+sort -u "$class_list.1" "$class_list.2" > "$class_list"
+rm "$class_list.1" "$class_list.2"
+
+echo "Dump class data sharing archive: $archive"
+java -Xshare:dump \
+  -XX:SharedClassListFile="$class_list" \
+  -XX:SharedArchiveFile="$archive" \
+  -cp "$jar" > /dev/null
+
+echo "Built. Use $cds_dir/imo to run imo with the archive."
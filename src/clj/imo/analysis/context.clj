@@ -1,7 +1,7 @@
 (ns imo.analysis.context
   (:require [imo.analysis.clj-exports :as clj-exports])
   (:import (clojure.lang Symbol Keyword)
-           (java.util Map)))
+           (java.util Map Set)))
 
 (defrecord Binding
   [^Symbol local-name
@@ -21,7 +21,11 @@
    ^String current-ns
    ^Keyword mode
    ^Binding recur-target
-   ^Boolean ignore-next])
+   ^Boolean ignore-next
+   ^Set tracked-bindings
+   ^Map results
+   ^Map node-analyzers
+   ^Map form-analyzers])
 
 (defn ctx?
   "Returns boolean whether the given value is context or not"
@@ -49,6 +53,15 @@
          (map? aliases)]}
   (assoc-in ctx [:aliases (name (:local-name alias))] alias))
 
+(defn tracked-binding?
+  "Returns boolean whether local bindings with the given name are
+   tracked by the context. Fast analysis tracks only the names that
+   may shadow forms with registered analyzers, full analysis tracks
+   all bindings."
+  [{:keys [tracked-bindings]} ^String local-name]
+  (or (nil? tracked-bindings)
+      (contains? tracked-bindings local-name)))
+
 (defn add-binding
   "Adds binding to the context's current lexical scope and returns
    the updated context"
@@ -151,18 +164,27 @@
 
 (defn create-context
   "Creates fresh context with the given custom symbol resolutions
-   and namespace exports"
-  [symbol-resolution ns-exports]
-  {:pre [(map? symbol-resolution)
-         (map? ns-exports)]}
-  (-> {:current-ns     "user"
-       :scope          (->Scope nil default-bindings)
-       :aliases        default-aliases
-       :sym-resolution symbol-resolution
-       :mode           :eval
-       :recur-target   nil
-       :ignore-next    false}
-      (map->Context)))
+   and namespace exports. If `tracked-bindings` set is given, only
+   local bindings with those names are tracked."
+  ([symbol-resolution ns-exports]
+   (create-context symbol-resolution ns-exports nil))
+  ([symbol-resolution ns-exports tracked-bindings]
+   {:pre [(map? symbol-resolution)
+          (map? ns-exports)
+          (or (nil? tracked-bindings)
+              (set? tracked-bindings))]}
+   (-> {:current-ns       "user"
+        :scope            (->Scope nil default-bindings)
+        :aliases          default-aliases
+        :sym-resolution   symbol-resolution
+        :mode             :eval
+        :recur-target     nil
+        :ignore-next      false
+        :tracked-bindings tracked-bindings
+        :results          nil
+        :node-analyzers   nil
+        :form-analyzers   nil}
+       (map->Context))))
 
 (defn set-ns
   "Resets the namespace for the given context"
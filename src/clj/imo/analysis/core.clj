@@ -6,13 +6,22 @@
             [imo.logger :refer [warn]]
             [clojure.string :as string])
   (:import (imo AnalysisException AnalysisState)
-           (clojure.lang IDeref)))
+           (clojure.lang IDeref)
+           (java.io StringWriter)
+           (java.util IdentityHashMap Map Set)))
 
 ;;;; analysis core
 
 (declare analyze-node-with default-node-analyzer reader-cond-analyzer specify)
 
-(def ^:private node-analyzers (volatile! {}))
+;; Analyzer registries are published as immutable snapshots. Every
+;; analysis run reads them once when it starts (see `analysis-context`),
+;; so registering forms e.g. from the REPL never affects the analyses
+;; that are already running
+(def ^:private node-analyzers (atom {}))
+
+(defn- register! [registry k v]
+  (swap! registry assoc k v))
 
 (defn- analyze-meta-nodes [ctx nodes]
   (when (some? nodes)
@@ -51,16 +60,14 @@
    default node analysis functions"
   [ctx node]
   {:pre [(node? node)]}
-  (let [analyzer (get @node-analyzers (first node) generic-node-analyzer)]
+  (let [analyzer (get (:node-analyzers ctx) (first node) generic-node-analyzer)]
     (analyzer ctx node)))
 
-(defn analyze-node-with
+(defn- analyze-node-into-tree
   "Analyzes the given node and its meta nodes using the supplied
-   analyzer function and context"
+   analyzer function and context and annotates the analyzed node
+   with the results"
   [analyzer ctx node]
-  {:pre [(ifn? analyzer)
-         (ctx? ctx)
-         (node? node)]}
   (as-> [ctx (transient (meta node))] state+meta+node
         (let [[ctx m] state+meta+node]
           (if-let [[ctx' nodes nodes*] (analyze-meta-nodes ctx (:pre m))]
@@ -116,6 +123,56 @@
                        "\n ast-node:      " (pr-str node)))
           [ctx-out node-out])))
 
+(defn- analyze-meta-nodes-into-table [ctx nodes]
+  (loop [ctx ctx
+         [node & xs] nodes]
+    (if (some? node)
+      (case (first node)
+        (:space :newline :comment) (recur ctx xs)
+        :discard (let [[ctx' _] (analyze-node-with default-node-analyzer ctx node)
+                       discarded (second node)]
+                   (recur (if (and (= :keyword (first discarded))
+                                   (= ":imo/ignore" (second discarded)))
+                            (assoc ctx' :ignore-next true)
+                            ctx')
+                          xs))
+        :meta (recur (first (analyze-node-with default-node-analyzer ctx node)) xs))
+      ctx)))
+
+(defn- analyze-node-into-table
+  "Like `analyze-node-with` but instead of annotating the analyzed node,
+   adds the analysis results of the node into the given results table
+   and returns the original node"
+  [analyzer ctx node ^Map results]
+  (let [m (meta node)
+        ctx (analyze-meta-nodes-into-table ctx (:pre m))
+        ignore? (:ignore-next ctx)
+        ctx (if ignore? (assoc ctx :ignore-next false) ctx)
+        [ctx' result] (try
+                        (let [[ctx' node'] (analyzer ctx node)]
+                          [ctx' (meta node')])
+                        (catch AnalysisException ex
+                          (when (= :eval (:mode ctx))
+                            (warn (ex-position ex node) (ex-message ex)))
+                          [(first (generic-node-analyzer ctx node)) {:invalid? true}]))
+        result (if ignore? (assoc result :ignore? true) result)]
+    (when (some? result)
+      (.put results node result))
+    (let [ctx' (analyze-meta-nodes-into-table ctx' (:children m))
+          ctx' (analyze-meta-nodes-into-table ctx' (:post m))]
+      [ctx' node])))
+
+(defn analyze-node-with
+  "Analyzes the given node and its meta nodes using the supplied
+   analyzer function and context"
+  [analyzer ctx node]
+  {:pre [(ifn? analyzer)
+         (ctx? ctx)
+         (node? node)]}
+  (if-some [results (:results ctx)]
+    (analyze-node-into-table analyzer ctx node results)
+    (analyze-node-into-tree analyzer ctx node)))
+
 (definterface Spec
   (expectations [])
   (accept [_node])
@@ -160,7 +217,7 @@
     (analysis-ex msg caused-by)))
 
 (defonce ^:private spec-registry
-  (volatile! {}))
+  (atom {}))
 
 (defrecord OptionalSpec [^Spec inner]
   Spec
@@ -359,24 +416,63 @@
 
 (defn- bound-ns-symbol-node-analyzer [ctx [_ s]]
   {:pre [(simple-name-str? s)]}
-  (let [local-name (symbol s)
-        fq-name (symbol (:current-ns ctx) s)
-        binding (ctx/create-binding local-name fq-name)]
-    [(ctx/add-binding ctx binding) [:symbol s]]))
+  (if (ctx/tracked-binding? ctx s)
+    (let [local-name (symbol s)
+          fq-name (symbol (:current-ns ctx) s)
+          binding (ctx/create-binding local-name fq-name)]
+      [(ctx/add-binding ctx binding) [:symbol s]])
+    [ctx [:symbol s]]))
 
 (defn- bound-local-symbol-node-analyzer [ctx [_ s]]
   {:pre [(simple-name-str? s)]}
-  (let [local-name (symbol s)
-        binding (ctx/create-binding local-name local-name)]
-    [(ctx/add-binding ctx binding) [:symbol s]]))
+  (if (ctx/tracked-binding? ctx s)
+    (let [local-name (symbol s)
+          binding (ctx/create-binding local-name local-name)]
+      [(ctx/add-binding ctx binding) [:symbol s]])
+    [ctx [:symbol s]]))
 
 (defn- bound-local-keyword-node-analyzer [ctx [_ s]]
   (let [name-s (if (simple-name-str? s)
                  (subs s 1)
-                 (second (string/split s #"/")))
-        local-name (symbol name-s)
-        binding (ctx/create-binding local-name local-name)]
-    [(ctx/add-binding ctx binding) [:keyword s]]))
+                 (second (string/split s #"/")))]
+    (if (ctx/tracked-binding? ctx name-s)
+      (let [local-name (symbol name-s)
+            binding (ctx/create-binding local-name local-name)]
+        [(ctx/add-binding ctx binding) [:keyword s]])
+      [ctx [:keyword s]])))
+
+(defn- fast-destructuring-analyzer
+  "Analyzes destructuring binding form without validating its structure.
+   Every simple symbol inside the form and every keyword inside its
+   vectors (e.g. `{:keys [:a]}`) is treated as a binding, so the tracked
+   names can be shadowed but never resolved incorrectly to the forms
+   they shadow. Expressions (e.g. `:or` defaults) are analyzed normally."
+  [ctx node]
+  (loop [result (transient [(first node)])
+         [child & xs :as children] (next node)
+         ctx ctx]
+    (if children
+      (let [analyzer (case (first child)
+                       :symbol (if (simple-name-str? (second child))
+                                 bound-local-symbol-node-analyzer
+                                 default-node-analyzer)
+                       :keyword (if (= :vector (first node))
+                                  bound-local-keyword-node-analyzer
+                                  default-node-analyzer)
+                       (:vector :map) fast-destructuring-analyzer
+                       default-node-analyzer)
+            [ctx' child'] (analyze-node-with analyzer ctx child)]
+        (recur (conj! result child') xs ctx'))
+      [ctx (persistent! result)])))
+
+(defn- destructuring-analyzer
+  "Returns analyzer that validates destructuring form with the given
+   spec in full analysis, and skips the validation in fast analysis"
+  [spec]
+  (fn [ctx node]
+    (if (some? (:tracked-bindings ctx))
+      (fast-destructuring-analyzer ctx node)
+      (analyze spec ctx node))))
 
 (defn- literal-node-analyzer [ctx node]
   [ctx (with-meta node nil)])
@@ -395,15 +491,22 @@
     [ctx' [type inner']]))
 
 (def ^:private form-analyzers
-  (volatile! {}))
+  (atom {}))
+
+(def ^:dynamic ^Set *resolved-invocations*
+  "When bound to a mutable set, every invocation symbol that is resolved
+   with the symbol resolution map during the analysis is added to it"
+  nil)
 
 (defn- list-node-analyzer [ctx [_ i :as node]]
   (if (and (not= :quote (:mode ctx))
            (= :symbol (first i)))
     (let [local-name (symbol (second i))
           invocation (first (ctx/resolve-fq-name ctx local-name))
+          _ (when-some [invocations *resolved-invocations*]
+              (.add invocations invocation))
           form-name (get (:sym-resolution ctx) invocation invocation)
-          analyzer (get @form-analyzers form-name generic-node-analyzer)
+          analyzer (get (:form-analyzers ctx) form-name generic-node-analyzer)
           [ctx' node'] (analyzer ctx node)]
       [ctx' (vary-meta node' assoc :invocation invocation :resolve-as form-name)])
     (generic-node-analyzer ctx node)))
@@ -463,19 +566,19 @@
       [ctx' [reader-cond-type feats']])))
 
 (doseq [lit-type [:symbol :keyword :string :number :boolean :char :regex :nil]]
-  (vswap! node-analyzers assoc lit-type literal-node-analyzer))
+  (register! node-analyzers lit-type literal-node-analyzer))
 
 (doseq [coll-type [:map :set :vector :ns-map :anon-fn]]
-  (vswap! node-analyzers assoc coll-type coll-node-analyzer))
+  (register! node-analyzers coll-type coll-node-analyzer))
 
 (doseq [wrapper-type [:deref :var-quote :meta]]
-  (vswap! node-analyzers assoc wrapper-type wrapper-node-analyzer))
+  (register! node-analyzers wrapper-type wrapper-node-analyzer))
 
-(vswap! node-analyzers assoc :quote quote-analyzer)
-(vswap! node-analyzers assoc :syntax-quote syntax-quote-analyzer)
-(vswap! node-analyzers assoc :unquote unquote-analyzer)
-(vswap! node-analyzers assoc :unquote-splice unquote-analyzer)
-(vswap! node-analyzers assoc :list list-node-analyzer)
+(register! node-analyzers :quote quote-analyzer)
+(register! node-analyzers :syntax-quote syntax-quote-analyzer)
+(register! node-analyzers :unquote unquote-analyzer)
+(register! node-analyzers :unquote-splice unquote-analyzer)
+(register! node-analyzers :list list-node-analyzer)
 
 ;;;; preset specs
 
@@ -503,7 +606,7 @@
 
 (defn defspec [name spec]
   {:pre [(qualified-keyword? name)]}
-  (vswap! spec-registry assoc name (specify spec)))
+  (register! spec-registry name (specify spec)))
 
 ;;; basic nodes
 
@@ -532,7 +635,7 @@
                                      [":as" (named ::local-sym-binding "alias")]
                                      (recursive ::any-binding))))
 
-(defspec ::seq-binding (node #(= :vector (first %)) "sequence binding" #(analyze ::seq-binding.elems %1 %2)))
+(defspec ::seq-binding (node #(= :vector (first %)) "sequence binding" (destructuring-analyzer ::seq-binding.elems)))
 
 ;; map
 (defspec ::map-binding.keys (* (alt ::local-sym-binding ::local-keyword-binding)))
@@ -563,7 +666,7 @@
                                      ; {foo :foo}
                                      [(recursive ::any-binding) ::any])))
 
-(defspec ::map-binding (node #(= :map (first %)) "map binding" #(analyze ::map-binding.elems %1 %2)))
+(defspec ::map-binding (node #(= :map (first %)) "map binding" (destructuring-analyzer ::map-binding.elems)))
 
 ;; any
 (defspec ::any-binding (named (alt ::local-sym-binding ::seq-binding ::map-binding) "binding"))
@@ -576,7 +679,7 @@
 
 (defn defform [fq-sym analyzer]
   {:pre [(symbol? fq-sym)]}
-  (vswap! form-analyzers assoc fq-sym analyzer))
+  (register! form-analyzers fq-sym analyzer))
 
 (def ^:private quote-form-analyzer
   (let [spec (sequence ::symbol ::any)]
@@ -595,17 +698,196 @@
             [ctx' node'] (analyze spec unquoted-ctx node)]
         [(ctx/set-mode ctx' current-mode) node']))))
 
-(vswap! form-analyzers assoc 'quote quote-form-analyzer)
-(vswap! form-analyzers assoc 'unquote unquote-form-analyzer)
-(vswap! form-analyzers assoc 'unquote-splicing unquote-form-analyzer)
+(register! form-analyzers 'quote quote-form-analyzer)
+(register! form-analyzers 'unquote unquote-form-analyzer)
+(register! form-analyzers 'unquote-splicing unquote-form-analyzer)
 
 ;;;; entrypoint
 
+(defn- form-shadowing-names
+  "Returns names of the local bindings that may shadow forms with
+   registered analyzers or symbol resolutions"
+  [form-analyzers symbol-resolution]
+  (->> (concat (keys form-analyzers) (keys symbol-resolution))
+       (map name)
+       (set)))
+
+(defn- analysis-context
+  "Creates root context for an analysis run with the current snapshot
+   of the analyzer registries"
+  [symbol-resolution mode]
+  (let [form-analyzers @form-analyzers
+        tracked-bindings (when (= :fast mode)
+                           (form-shadowing-names form-analyzers symbol-resolution))]
+    (assoc (ctx/create-context symbol-resolution {} tracked-bindings)
+      :node-analyzers @node-analyzers
+      :form-analyzers form-analyzers)))
+
+;;; parallel analysis of top level forms
+
+(def ^:private context-form-names
+  "Names of the forms that (may) change namespace or aliases of the
+   analysis context. They're always analyzed sequentially."
+  #{"ns" "in-ns" "require" "use" "import" "alias" "refer" "refer-clojure" "load"})
+
+(defn- context-form? [[node-type [head-type head]]]
+  (and (= :list node-type)
+       (= :symbol head-type)
+       (contains? context-form-names (name (symbol head)))))
+
+(defn- symbol-names
+  "Returns names of all symbols inside the given node and its meta nodes"
+  [node]
+  (letfn [(collect [names node]
+            (if (vector? node)
+              (let [{:keys [pre children post]} (meta node)
+                    names (if (= :symbol (first node))
+                            (conj! names (name (second node)))
+                            (reduce collect names (next node)))]
+                (reduce collect names (concat pre children post)))
+              names))]
+    (persistent! (collect (transient #{}) node))))
+
+(defn- root-bindings-delta
+  "Returns the root scope bindings added (or replaced) by analyzing the
+   node with the given symbol names in `ctx` and resulting to `ctx'`.
+   Returns nil if the analysis changed the context by other means, i.e.
+   the node must be analyzed sequentially."
+  [ctx ctx' names]
+  (let [scope (:scope ctx)
+        scope' (:scope ctx')]
+    (when (and (nil? (:parent scope))
+               (nil? (:parent scope'))
+               (= (:current-ns ctx) (:current-ns ctx'))
+               (identical? (:aliases ctx) (:aliases ctx'))
+               (identical? (:sym-resolution ctx) (:sym-resolution ctx'))
+               (identical? (:ns-exports ctx) (:ns-exports ctx')))
+      (let [bindings (:bindings scope)
+            bindings' (:bindings scope')
+            delta (if (identical? bindings bindings')
+                    {}
+                    (->> names
+                         (keep #(let [b (get bindings' %)]
+                                  (when-not (identical? b (get bindings %))
+                                    [% b])))
+                         (into {})))]
+        ;; bindings are only added by the nodes' symbols, anything
+        ;; else is considered as a context change
+        (when (= (count bindings')
+                 (clojure.core/+ (count bindings) (count (remove #(contains? bindings %) (keys delta)))))
+          delta)))))
+
+(defn- apply-delta [ctx ctx' delta]
+  (assoc ctx :scope (ctx/->Scope nil (reduce-kv assoc (:bindings (:scope ctx)) delta))
+             :mode (:mode ctx')
+             :recur-target (:recur-target ctx')
+             :ignore-next (:ignore-next ctx')))
+
+(defn- same-form-state? [ctx snapshot]
+  (and (= (:ignore-next ctx) (:ignore-next snapshot))
+       (= (:mode ctx) (:mode snapshot))
+       (= (:recur-target ctx) (:recur-target snapshot))
+       (= (:current-ns ctx) (:current-ns snapshot))
+       (identical? (:aliases ctx) (:aliases snapshot))))
+
+(defn- analyze-speculatively
+  "Analyzes the given top level form against the context snapshot and
+   returns the result with the warnings buffered so that they can be
+   printed only if the result is accepted"
+  [snapshot form]
+  (let [err (StringWriter.)
+        [ctx' form'] (binding [*err* err]
+                       (analyze-node-with default-node-analyzer snapshot form))]
+    {:ctx' ctx' :form' form' :names (symbol-names form) :warnings (str err)}))
+
+(defn- parallel-root-analyzer
+  "Analyzes the top level forms of the root node concurrently. Forms that
+   change the namespace or aliases are analyzed sequentially and the other
+   forms concurrently against the context snapshot taken after them. The
+   results are then validated in source order: a result is accepted only
+   if none of the root bindings referenced by the form changed since the
+   snapshot, otherwise the form is re-analyzed with the actual context.
+   The results are therefore identical to the sequential analysis."
+  [ctx [node-type & forms]]
+  (let [forms (vec forms)
+        n (count forms)]
+    (loop [i 0
+           ctx ctx
+           result (transient [node-type])]
+      (cond
+        (= i n)
+        [ctx (persistent! result)]
+
+        (context-form? (nth forms i))
+        (let [[ctx' form'] (analyze-node-with default-node-analyzer ctx (nth forms i))]
+          (recur (inc i) ctx' (conj! result form')))
+
+        :else
+        (let [end (or (first (filter #(context-form? (nth forms %)) (range i n))) n)
+              snapshot (assoc ctx :ignore-next false)
+              speculated (vec (pmap #(analyze-speculatively snapshot %) (subvec forms i end)))
+              [i ctx result] (loop [k i
+                                    ctx ctx
+                                    changed #{}
+                                    result result]
+                               (if (= k end)
+                                 [k ctx result]
+                                 (let [form (nth forms k)
+                                       {:keys [ctx' form' names warnings]} (nth speculated (- k i))
+                                       delta (when (and (same-form-state? ctx snapshot)
+                                                        (not-any? changed names))
+                                               (root-bindings-delta snapshot ctx' names))]
+                                   (if (some? delta)
+                                     (do (when (seq warnings)
+                                           (binding [*out* *err*]
+                                             (print warnings)
+                                             (flush)))
+                                         (recur (inc k) (apply-delta ctx ctx' delta) (into changed (keys delta)) (conj! result form')))
+                                     (let [[ctx-out form'] (analyze-node-with default-node-analyzer ctx form)
+                                           delta (root-bindings-delta ctx ctx-out (symbol-names form))]
+                                       (if (some? delta)
+                                         (recur (inc k) ctx-out (into changed (keys delta)) (conj! result form'))
+                                         ;; context changed, re-analyze the rest with a new snapshot
+                                         [(inc k) ctx-out (conj! result form')]))))))]
+          (recur (long i) ctx result))))))
+
 (defn analyze-root
-  "Analyses the given root node using the given symbol resolution map"
-  [symbol-resolution root-node]
-  {:pre [(map? symbol-resolution)
-         (node? root-node)
-         (= :$ (first root-node))]}
-  (let [ctx (ctx/create-context symbol-resolution {})]
-    (second (analyze-node-with coll-node-analyzer ctx root-node))))
+  "Analyses the given root node using the given symbol resolution map.
+
+   Analysis mode can be either `:full` (default) or `:fast`. Fast analysis
+   resolves forms (`:resolve-as`) identically but tracks only namespace
+   aliases, refers and local bindings that shadow registered forms, and
+   skips validation of destructuring forms.
+
+   If `parallel?` is true, top level forms are analyzed concurrently.
+   The results are identical to the sequential analysis."
+  ([symbol-resolution root-node]
+   (analyze-root symbol-resolution :full root-node))
+  ([symbol-resolution mode root-node]
+   (analyze-root symbol-resolution mode false root-node))
+  ([symbol-resolution mode parallel? root-node]
+   {:pre [(map? symbol-resolution)
+          (contains? #{:full :fast} mode)
+          (node? root-node)
+          (= :$ (first root-node))]}
+   (let [ctx (analysis-context symbol-resolution mode)]
+     (second (analyze-node-with (if parallel? parallel-root-analyzer coll-node-analyzer) ctx root-node)))))
+
+(defn analyze-root-into-table
+  "Analyses the given root node like `analyze-root` but leaves the nodes
+   as they are and returns the analysis results in an identity based map
+   from the analyzed nodes to their results (`:resolve-as`, `:invocation`,
+   `:invalid?`, `:ignore?` and `:body-expr`). Nodes without any results
+   are not included in the map."
+  (^Map [symbol-resolution root-node]
+   (analyze-root-into-table symbol-resolution :full root-node))
+  (^Map [symbol-resolution mode root-node]
+   {:pre [(map? symbol-resolution)
+          (contains? #{:full :fast} mode)
+          (node? root-node)
+          (= :$ (first root-node))]}
+   (let [results (IdentityHashMap.)
+         ctx (-> (analysis-context symbol-resolution mode)
+                 (assoc :results results))]
+     (analyze-node-with coll-node-analyzer ctx root-node)
+     results)))
@@ -0,0 +1,38 @@
+(ns imo.api
+  "Entry points for embedding imo into other JVM programs. Used by
+   `imo.Formatter` Java API."
+  (:require [clojure.edn :as edn]
+            [imo.core :as imo]
+            [imo.config :as config]
+            [imo.logger :as logger])
+  (:import (imo ImoException)))
+
+(defn build-config
+  "Builds a ready-to-use config from the given EDN string. Nil or
+   blank string results in the default config."
+  [^String config-edn]
+  (let [user-config (when (and config-edn (not (.isBlank config-edn)))
+                      (try
+                        (binding [*read-eval* false]
+                          (edn/read-string config-edn))
+                        (catch Exception ex
+                          (throw (ImoException. (str "Config parsing failed: " (.getMessage ex)))))))]
+    (config/build-config user-config nil)))
+
+(defn format-source
+  "Formats the given source string and returns the formatted
+   source. `name` is used in warnings."
+  [config name source]
+  (binding [logger/*current-file* name]
+    (->> (imo/read source)
+         (imo/analyze config)
+         (imo/format config))))
+
+(defn formatted?
+  "Returns boolean whether the given source string is already
+   formatted. `name` is used in warnings."
+  [config name source]
+  (binding [logger/*current-file* name]
+    (as-> (imo/read source) ast
+          (imo/analyze config ast)
+          (imo/formatted? config ast source))))
@@ -0,0 +1,133 @@
+(ns imo.bench
+  (:require [clojure.string :as string]
+            [imo.core :as imo]
+            [imo.util :refer [split-lines]])
+  (:import (java.lang.management ManagementFactory GarbageCollectorMXBean)
+           (com.sun.management ThreadMXBean)))
+
+(def phases [:read :analyze :format])
+
+(defn- allocated-bytes
+  "Returns bytes allocated by the current thread so far or -1 if the
+   runtime does not support allocation measurement"
+  ^long []
+  (let [bean (ManagementFactory/getThreadMXBean)]
+    (if (and (instance? ThreadMXBean bean)
+             (.isThreadAllocatedMemoryEnabled ^ThreadMXBean bean))
+      (.getThreadAllocatedBytes ^ThreadMXBean bean (.getId (Thread/currentThread)))
+      -1)))
+
+(defn- gc-time-ms
+  "Returns total collection time of all garbage collectors so far"
+  ^long []
+  (->> (ManagementFactory/getGarbageCollectorMXBeans)
+       (map #(max 0 (.getCollectionTime ^GarbageCollectorMXBean %)))
+       (reduce + 0)))
+
+(defn- measure [f]
+  (let [b0 (allocated-bytes)
+        t0 (System/nanoTime)
+        result (f)
+        t1 (System/nanoTime)
+        b1 (allocated-bytes)]
+    [result (- t1 t0) (when (<= 0 b0) (- b1 b0))]))
+
+(defn- run-file
+  "Runs all phases for the given source and returns `[nanos bytes]`
+   for each phase"
+  [config source]
+  (let [[root read-ns read-bytes] (measure #(imo/read source))
+        [ast analyze-ns analyze-bytes] (measure #(imo/analyze config root))
+        [_ format-ns format-bytes] (measure #(imo/format config ast))]
+    {:read    [read-ns read-bytes]
+     :analyze [analyze-ns analyze-bytes]
+     :format  [format-ns format-bytes]}))
+
+(defn- percentile [sorted p]
+  (nth sorted (-> (Math/ceil (* p (count sorted)))
+                  (long)
+                  (dec)
+                  (max 0))))
+
+(defn- round [x]
+  (/ (Math/round (* 1000.0 (double x))) 1000.0))
+
+(defn- phase-stats [samples n-lines iterations]
+  (let [nanos (sort (map first samples))
+        total-ns (reduce + nanos)
+        bytes (keep second samples)]
+    {:mean-ms         (round (/ total-ns (count nanos) 1e6))
+     :p50-ms          (round (/ (percentile nanos 0.5) 1e6))
+     :p99-ms          (round (/ (percentile nanos 0.99) 1e6))
+     :lines-per-sec   (Math/round (/ (* n-lines iterations) (max 1.0 (/ total-ns 1e9))))
+     :allocated-bytes (when (seq bytes)
+                        (quot (reduce + bytes) iterations))}))
+
+(defn run-bench
+  "Reads, analyzes and formats the given `[path source]` pairs `warmup`
+   times without measuring and then `iterations` times. Returns report
+   of each phase's per file time (mean, p50, p99), throughput and bytes
+   allocated per iteration, plus totals and time spent in GC during the
+   measured iterations."
+  [config sources {:keys [warmup iterations progress]}]
+  {:pre [(pos-int? iterations)
+         (nat-int? warmup)
+         (seq sources)]}
+  (let [progress (or progress (fn [_]))
+        n-lines (reduce + (map #(count (split-lines (second %))) sources))
+        run-all #(mapv (fn [[_ source]] (run-file config source)) sources)
+        _ (dotimes [i warmup]
+            (progress (str "warmup " (inc i) "/" warmup "..."))
+            (run-all))
+        gc-start (gc-time-ms)
+        start-ns (System/nanoTime)
+        runs (vec (for [i (range iterations)]
+                    (do (progress (str "iteration " (inc i) "/" iterations "..."))
+                        (run-all))))
+        elapsed-ns (- (System/nanoTime) start-ns)
+        gc-ms (- (gc-time-ms) gc-start)
+        phase-results (into {} (for [p phases]
+                                 [p (phase-stats (mapcat #(map p %) runs) n-lines iterations)]))
+        allocated (map :allocated-bytes (vals phase-results))]
+    {:files      (count sources)
+     :lines      n-lines
+     :warmup     warmup
+     :iterations iterations
+     :jvm        {:name    (System/getProperty "java.vm.name")
+                  :version (System/getProperty "java.vm.version")}
+     :phases     phase-results
+     :total      {:mean-ms         (round (/ elapsed-ns iterations 1e6))
+                  :lines-per-sec   (Math/round (/ (* n-lines iterations) (max 1.0 (/ elapsed-ns 1e9))))
+                  :allocated-bytes (when (every? some? allocated)
+                                     (reduce + allocated))
+                  :gc-ms           gc-ms}}))
+
+(defn- format-bytes [b]
+  (if b
+    (format "%.1f MB" (/ b 1048576.0))
+    "n/a"))
+
+(defn print-report
+  "Prints human readable version of the given benchmark report"
+  [{:keys [files lines warmup iterations jvm total] phase-results :phases}]
+  (println (format "\n%d files, %d lines, %d warmup + %d measured iterations (%s %s)\n"
+                   files lines warmup iterations (:name jvm) (:version jvm)))
+  (println (format "%-8s %10s %10s %10s %12s %14s" "phase" "mean ms" "p50 ms" "p99 ms" "lines/sec" "allocated"))
+  (doseq [p phases
+          :let [{:keys [mean-ms p50-ms p99-ms lines-per-sec allocated-bytes]} (get phase-results p)]]
+    (println (format "%-8s %10.3f %10.3f %10.3f %12d %14s" (name p) mean-ms p50-ms p99-ms lines-per-sec (format-bytes allocated-bytes))))
+  (println (format "%-8s %10.3f %10s %10s %12d %14s" "total" (:mean-ms total) "" "" (:lines-per-sec total) (format-bytes (:allocated-bytes total))))
+  (println (format "\nGC time during measured iterations: %d ms" (:gc-ms total))))
+
+(defn- json-str [x]
+  (cond
+    (map? x) (str "{" (string/join "," (map (fn [[k v]] (str (json-str (name k)) ":" (json-str v))) x)) "}")
+    (sequential? x) (str "[" (string/join "," (map json-str x)) "]")
+    (string? x) (str "\"" (string/escape x {\" "\\\"" \\ "\\\\" \newline "\\n" \return "\\r" \tab "\\t"}) "\"")
+    (nil? x) "null"
+    :else (str x)))
+
+(defn write-json-report
+  "Writes the given benchmark report to the given file as JSON"
+  [report filename]
+  (spit filename (str (json-str report) "\n")))
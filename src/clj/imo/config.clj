@@ -7,13 +7,24 @@
 (s/def ::width (s/and integer? #(<= 50 % 200)))
 (defmsg ::width "Width must be an integer between 50 and 200 chars")
 
-(s/def ::cache (s/or :file string? :disabled false?))
-(defmsg ::cache "Cache must be either a filename or `false` to disable caching entirely")
+(s/def ::dir string?)
+(s/def ::cache (s/or :file string? :dir (s/keys :req-un [::dir]) :disabled false?))
+(defmsg ::cache "Cache must be either a filename, `{:dir \"directory\"}` for content addressed cache or `false` to disable caching entirely")
 
 (s/def ::resolve-as (s/map-of symbol? symbol?))
 
+(s/def ::layout #{:greedy :optimal})
+(defmsg ::layout "Layout must be either `:greedy` or `:optimal`")
+
+(s/def ::mode #{:full :fast})
+(defmsg ::mode "Analysis mode must be either `:full` or `:fast`")
+(s/def ::parallel? boolean?)
+(defmsg ::parallel? "Parallel analysis option must be either `true` or `false`")
+(s/def ::analysis (s/keys :opt-un [::mode ::parallel?]))
+
 (def config-spec
-  (s/keys :req-un [::width ::cache ::resolve-as]))
+  (s/keys :req-un [::width ::cache ::resolve-as]
+          :opt-un [::layout ::analysis]))
 
 (defn check
   "Checks whether the given config is valid or not. If config is not
@@ -28,7 +39,10 @@
   "Default configuration options"
   {:width      80
    :cache      ".imo/cache.json"
-   :resolve-as {}})
+   :resolve-as {}
+   :layout     :greedy
+   :analysis   {:mode      :full
+                :parallel? false}})
 
 (defn build-config
   "Merges config from defaults + file + cli, prepares all pre-calculateable
@@ -1,13 +1,15 @@
 (ns imo.core
   (:refer-clojure :exclude [read format])
-  (:require [imo.analysis.core :refer [analyze-root]]
-            [imo.formatter :refer [format-root]]
+  (:require [imo.analysis.core :refer [analyze-root analyze-root-into-table *resolved-invocations*]]
+            [imo.formatter :refer [format-root formatted-root?]]
             [imo.logger :refer [timed]]
             [imo.util :refer [node? split-lines]]
             [imo.forms])
-  (:import (java.util LinkedList)
-           (com.github.difflib DiffUtils UnifiedDiffUtils)
-           (imo SourceReader)))
+  (:import (java.util Arrays)
+           (java.util.concurrent ConcurrentHashMap)
+           (com.github.difflib DiffUtils)
+           (com.github.difflib.patch AbstractDelta)
+           (imo ImoException SourceReader)))
 
 (defn read
   "Reads the CLJ(S) source string and returns AST in vector form
@@ -23,6 +25,26 @@
    (timed "reader"
      (SourceReader/readAst source tab-size))))
 
+(defn read-edit
+  "Reads the source of the previously read root ast after replacing
+   `removed-length` characters at `offset` with the `inserted` string.
+   Only the top level forms touched by the edit are read again and the
+   other forms are reused from the previous ast, which makes re-reading
+   cheap when the same source is edited repeatedly (e.g. in editors).
+   The returned ast is identical to the one returned by `read`."
+  ([prev-ast offset removed-length inserted]
+   (read-edit prev-ast offset removed-length inserted 2))
+  ([prev-ast offset removed-length inserted tab-size]
+   {:pre  [(node? prev-ast)
+           (= :$ (first prev-ast))
+           (nat-int? offset)
+           (nat-int? removed-length)
+           (string? inserted)
+           (pos-int? tab-size)]
+    :post [(node? %)]}
+   (timed "reader"
+     (SourceReader/readEdited prev-ast offset removed-length inserted tab-size))))
+
 (defn analyze
   "Runs static analysis to the given input ast and add annotates the returned
    ast nodes with analysis results"
@@ -30,7 +52,24 @@
   {:pre [(node? ast)
          (= :$ (first ast))]}
   (timed "analysis"
-    (analyze-root (or (:resolve-as config) {}) ast)))
+    (analyze-root (or (:resolve-as config) {})
+                  (get-in config [:analysis :mode] :full)
+                  (get-in config [:analysis :parallel?] false)
+                  ast)))
+
+(defn analysis-results
+  "Runs the same static analysis as `analyze` but returns the results in
+   an identity based map from the nodes of the given ast to their results
+   (e.g. `{:resolve-as clojure.core/defn}`) instead of annotating the ast.
+   Because the ast is not rebuilt, this is considerably cheaper when the
+   results are needed without formatting, e.g. in editor integrations."
+  [config ast]
+  {:pre [(node? ast)
+         (= :$ (first ast))]}
+  (timed "analysis"
+    (analyze-root-into-table (or (:resolve-as config) {})
+                             (get-in config [:analysis :mode] :full)
+                             ast)))
 
 (defn format
   "Formats the given root ast node and returns the formatted source as string"
@@ -40,7 +79,186 @@
    :post [(string? %)]}
   (timed "format"
     (let [width (:width config)]
-      (format-root width ast))))
+      (format-root width (:layout config :greedy) ast))))
+
+(defn formatted?
+  "Checks whether the given root ast node is formatted exactly as the
+   expected source. Unlike comparing the result of `format`, the check
+   stops at the first mismatching top level form."
+  [config ast expected]
+  {:pre [(node? ast)
+         (= :$ (first ast))
+         (string? expected)]}
+  (timed "format"
+    (let [width (:width config)]
+      (formatted-root? width (:layout config :greedy) ast expected))))
+
+(defn prepare
+  "Reads and analyzes the given source once so that it can be formatted
+   multiple times (also concurrently) with different configs by using
+   `format-prepared`"
+  [config source]
+  {:pre [(string? source)]}
+  (let [root (read source)
+        invocations (ConcurrentHashMap/newKeySet)
+        ast (binding [*resolved-invocations* invocations]
+              (analyze config root))]
+    {:root        root
+     :ast         ast
+     :resolve-as  (or (:resolve-as config) {})
+     :invocations (set invocations)}))
+
+(defn- same-resolutions?
+  "Returns boolean whether the prepared ast would be analyzed the same
+   way with the given config, i.e. every invocation symbol resolved during
+   the analysis resolves to the same form with both configs"
+  [{:keys [resolve-as invocations]} config]
+  (let [resolve-as' (or (:resolve-as config) {})]
+    (or (= resolve-as resolve-as')
+        (every? #(= (get resolve-as % %) (get resolve-as' % %)) invocations))))
+
+(defn format-prepared
+  "Formats the prepared source with the given config. The source is
+   re-analyzed only if the config's :resolve-as changes the resolution
+   of some invocation in the source."
+  [prepared config]
+  (let [ast (if (same-resolutions? prepared config)
+              (:ast prepared)
+              (analyze config (:root prepared)))]
+    (format config ast)))
+
+(defn format-variants
+  "Formats the given source with every given config concurrently,
+   reading and analyzing the source only once. Returns formatted
+   sources in the same order as the configs."
+  [source configs]
+  {:pre [(string? source)
+         (seq configs)]}
+  (let [prepared (prepare (first configs) source)]
+    (vec (pmap #(format-prepared prepared %) configs))))
+
+(defn- top-level-form-lines
+  "Returns the (1-based) starting lines of the top level forms in the
+   given source or `nil` if the source can't be read"
+  [source]
+  (try
+    (mapv #(:line (meta %)) (rest (SourceReader/readAst source 2)))
+    (catch ImoException _ nil)))
+
+(defn- diff-segments
+  "Splits the expected and actual lines into pairs of line ranges
+   `[e-start e-end a-start a-end]` by the starting lines of their top
+   level forms. Formatting preserves the top level forms, so changes in
+   one form never affect the diff of the other forms. If the sources have
+   different forms, the whole sources are used as a single segment."
+  [expected ^objects expected-lines actual ^objects actual-lines]
+  (let [n (alength expected-lines)
+        m (alength actual-lines)
+        e-lines (top-level-form-lines expected)
+        a-lines (top-level-form-lines actual)]
+    (if (and (some? e-lines)
+             (= (count e-lines) (count a-lines))
+             (every? #(<= % n) e-lines)
+             (every? #(<= % m) a-lines))
+      (let [e-bounds (conj (into [0] (map dec) e-lines) n)
+            a-bounds (conj (into [0] (map dec) a-lines) m)]
+        (map vector e-bounds (rest e-bounds) a-bounds (rest a-bounds)))
+      [[0 n 0 m]])))
+
+(defn- segment-deltas
+  "Returns the changes `[e-pos e-len a-pos a-len]` between the given
+   line ranges. Segments larger than `max-segment-lines` are not diffed
+   line by line but shown as a single change instead."
+  [^objects expected-lines ^objects actual-lines max-segment-lines [e-start e-end a-start a-end]]
+  (let [[e-start a-start] (loop [e e-start a a-start]
+                            (if (and (< e e-end) (< a a-end) (= (aget expected-lines e) (aget actual-lines a)))
+                              (recur (inc e) (inc a))
+                              [e a]))
+        [e-end a-end] (loop [e e-end a a-end]
+                        (if (and (< e-start e) (< a-start a) (= (aget expected-lines (dec e)) (aget actual-lines (dec a))))
+                          (recur (dec e) (dec a))
+                          [e a]))
+        e-len (- e-end e-start)
+        a-len (- a-end a-start)]
+    (cond
+      (and (zero? e-len) (zero? a-len)) nil
+      (or (zero? e-len) (zero? a-len) (< max-segment-lines (+ e-len a-len))) [[e-start e-len a-start a-len]]
+      :else (for [^AbstractDelta delta (.getDeltas (DiffUtils/diff (Arrays/asList (Arrays/copyOfRange expected-lines (int e-start) (int e-end)))
+                                                                   (Arrays/asList (Arrays/copyOfRange actual-lines (int a-start) (int a-end)))))
+                  :let [src (.getSource delta)
+                        target (.getTarget delta)]]
+              [(+ e-start (.getPosition src)) (.size (.getLines src))
+               (+ a-start (.getPosition target)) (.size (.getLines target))]))))
+
+(defn- print-hunk [^objects expected-lines ^objects actual-lines context deltas]
+  (let [[e-pos _ a-pos _] (first deltas)
+        [e-last e-last-len] (peek deltas)
+        e-start (max 0 (- e-pos context))
+        a-start (- a-pos (- e-pos e-start))
+        e-end (min (alength expected-lines) (+ e-last e-last-len context))
+        a-end (+ (- e-end e-start) a-start (reduce + (map #(- (nth % 3) (nth % 1)) deltas)))
+        range-str (fn [start end]
+                    (str (if (= start end) start (inc start)) "," (- end start)))]
+    (println (str "@@ -" (range-str e-start e-end) " +" (range-str a-start a-end) " @@"))
+    (loop [e e-start
+           [[e-pos e-len a-pos a-len] & deltas] deltas]
+      (if e-pos
+        (do (doseq [i (range e e-pos)]
+              (println (str " " (aget expected-lines i))))
+            (doseq [i (range e-pos (+ e-pos e-len))]
+              (println (str "-" (aget expected-lines i))))
+            (doseq [i (range a-pos (+ a-pos a-len))]
+              (println (str "+" (aget actual-lines i))))
+            (recur (+ e-pos e-len) deltas))
+        (doseq [i (range e e-end)]
+          (println (str " " (aget expected-lines i))))))))
+
+(defn print-diff
+  "Prints diff between the given expected and actual contents in unified
+   patch format to `*out*`. Nothing is printed if the contents are equal.
+
+   Only the top level forms whose contents differ are diffed and the hunks
+   are printed as soon as they are found, so the whole diff is never kept
+   in memory. The work per file can be limited with options:
+     :max-lines          stop after printing this many changed lines
+     :max-segment-lines  show top level forms with more lines than this
+                         as a single change instead of diffing them"
+  ([expected actual] (print-diff expected actual {}))
+  ([expected actual {:keys [max-lines max-segment-lines]
+                     :or   {max-lines         Long/MAX_VALUE
+                            max-segment-lines 2000}}]
+   {:pre [(string? expected)
+          (string? actual)]}
+   (let [context 1
+         expected-lines (into-array Object (split-lines expected))
+         actual-lines (into-array Object (split-lines actual))
+         deltas (->> (diff-segments expected expected-lines actual actual-lines)
+                     (mapcat #(segment-deltas expected-lines actual-lines max-segment-lines %)))]
+     (loop [hunk []
+            [delta & deltas :as remaining] deltas
+            n-lines 0]
+       (let [[e-pos e-len _ a-len] delta
+             [prev-pos prev-len] (peek hunk)]
+         (cond
+           (nil? delta)
+           (when (seq hunk)
+             (print-hunk expected-lines actual-lines context hunk))
+
+           (empty? hunk)
+           (do (when (zero? n-lines)
+                 (println "--- expected")
+                 (println "+++ actual"))
+               (recur [delta] deltas (+ n-lines (long e-len) (long a-len))))
+
+           (and (<= (- e-pos (+ prev-pos prev-len)) (* 2 context))
+                (< n-lines max-lines))
+           (recur (conj hunk delta) deltas (+ n-lines (long e-len) (long a-len)))
+
+           :else
+           (do (print-hunk expected-lines actual-lines context hunk)
+               (if (< n-lines max-lines)
+                 (recur [] remaining n-lines)
+                 (println "... diff truncated")))))))))
 
 (defn diff
   "Returns a string diff from then given expected and actual contents in unified
@@ -48,10 +266,5 @@
   [expected actual]
   {:pre [(string? expected)
          (string? actual)]}
-  (let [expected-lines (LinkedList. (split-lines expected))
-        actual-lines (LinkedList. (split-lines actual))
-        patch (DiffUtils/diff expected-lines actual-lines)
-        udiff (UnifiedDiffUtils/generateUnifiedDiff "expected" "actual" expected-lines patch 1)]
-    (with-out-str
-      (doseq [d udiff]
-        (println d)))))
+  (with-out-str
+    (print-diff expected actual)))
@@ -8,7 +8,15 @@
             [imo.formatter.list-formatter]
             [imo.formatter.map-formatter]
             [imo.formatter.meta-formatter]
-            [imo.layout.core :as l]))
+            [imo.formatter.optimal :as optimal]
+            [imo.layout.core :as l])
+  (:import (java.util.concurrent.atomic AtomicLong)
+           (imo Util)))
+
+(def ^:dynamic *form-stats*
+  "When bound to an atom, `format-root` appends layout time and number of
+   `format-inner-node` invocations of every formatted top-level form to it"
+  nil)
 
 (def ^:private non-groupable-top-level-forms
   '#{clojure.core/defn
@@ -29,32 +37,58 @@
 (defn- make-newlines [num-newlines]
   (string/join "" (repeat num-newlines "\n")))
 
-(defn- format-top-level-form [form {:keys [target-width]}]
-  (vvvv "Formatting top level form at line " (:line (meta form)))
-  (vvvvv "Original form:\n" (node->source form))
+(defn- render-top-level-form [form {:keys [target-width algorithm]}]
   ;; we know that outer nodes (:pre :post) has already formatted
   ;; separately for top level noodes
-  (let [layout (f/format-inner-node form 0 target-width 0)]
+  (let [layout (if (= :optimal algorithm)
+                 (optimal/format-top-level-form form target-width)
+                 (f/format-inner-node form 0 target-width 0))]
     (assert (some? layout) "Top level form must always return layout")
     (l/render layout)))
 
+(defn- form-head [[node-type head]]
+  (when (and (= :list node-type)
+             (= :symbol (first head)))
+    (second head)))
+
+(defn- render-top-level-form-with-stats [form ctx form-stats]
+  (let [counter (AtomicLong.)
+        start-t (System/nanoTime)
+        formatted (binding [f/*invocation-counter* counter]
+                    (render-top-level-form form ctx))
+        {:keys [line resolve-as outer-length]} (meta form)]
+    (swap! form-stats conj {:line         line
+                            :head         (form-head form)
+                            :resolve-as   resolve-as
+                            :outer-length outer-length
+                            :time-ns      (- (System/nanoTime) start-t)
+                            :invocations  (.get counter)})
+    formatted))
+
+(defn- format-top-level-form [form ctx]
+  (vvvv "Formatting top level form at line " (:line (meta form)))
+  (vvvvv "Original form:\n" (node->source form))
+  (if-some [form-stats *form-stats*]
+    (render-top-level-form-with-stats form ctx form-stats)
+    (render-top-level-form form ctx)))
+
 (defn- non-whitespace-meta-form? [[node-type]]
   (contains? #{:discard :meta} node-type))
 
-(defn format-root
-  "Formats the given root ast node trying to fit the output
-   to the given target width as well as possible"
-  [width [node-type & forms :as root-node]]
-  {:pre [(pos-int? width)
-         (node? root-node)
-         (= :$ node-type)]}
+(defn- format-root*
+  "Formats the given root node into a string builder. If `continue?` is
+   given, it's called with the result builder after each appended top
+   level form and formatting is aborted when it returns false. Returns
+   nil if formatting was aborted, otherwise the result builder."
+  ^StringBuilder [ctx [_ & forms :as root-node] continue?]
   (let [{:keys [pre* children* post*]} (meta root-node)
         nodes (volatile! (concat pre* forms children* post*))
         last-appended-node (volatile! nil)
         newlines (volatile! 0)
-        result (StringBuilder.)
-        ctx f/default-ctx]
-    (while (seq @nodes)
+        aborted? (volatile! false)
+        result (StringBuilder.)]
+    (while (and (seq @nodes)
+                (not @aborted?))
       (let [node (first @nodes)]
         (case (first node)
           ;; Ignore spaces
@@ -115,14 +149,58 @@
                 (.append result formatted)))
             (vreset! newlines 0)
             (vreset! last-appended-node (conj node formatted))
-            (vswap! nodes next))
+            (vswap! nodes next)
+            (when (and (some? continue?)
+                       (not (continue? result)))
+              (vreset! aborted? true)))
           ;; Every other node: mark actual node as "top level form"
           ;; and flatten its meta nodes to top level
           (let [form (first @nodes)
                 {:keys [pre* post*]} (meta form)
                 bare-form (vary-meta form dissoc :pre :post)]
             (vswap! nodes #(concat pre* [[:form bare-form]] post* (next %)))))))
-    ;; End non-empty sources with newline
-    (when (pos? (.length result))
-      (.append result "\n"))
-    (.toString result)))
+    (when-not @aborted?
+      ;; End non-empty sources with newline
+      (when (pos? (.length result))
+        (.append result "\n"))
+      result)))
+
+(defn- root-ctx [width algorithm]
+  {:pre [(contains? #{:greedy :optimal} algorithm)]}
+  (assoc f/default-ctx :target-width width :algorithm algorithm))
+
+(defn format-root
+  "Formats the given root ast node trying to fit the output
+   to the given target width as well as possible. Layouts are
+   chosen with the given algorithm (`:greedy` by default or
+   `:optimal`)."
+  ([width root-node] (format-root width :greedy root-node))
+  ([width algorithm [node-type :as root-node]]
+   {:pre [(pos-int? width)
+          (node? root-node)
+          (= :$ node-type)]}
+   (binding [f/*source* (:source (meta root-node))]
+     (.toString (format-root* (root-ctx width algorithm) root-node nil)))))
+
+(defn formatted-root?
+  "Returns boolean whether the given root ast node formats exactly
+   to the expected source. Formatted output is compared against the
+   expected source after each top level form so formatting stops at
+   the first mismatch."
+  ([width root-node expected] (formatted-root? width :greedy root-node expected))
+  ([width algorithm [node-type :as root-node] ^String expected]
+   {:pre [(pos-int? width)
+          (node? root-node)
+          (= :$ node-type)
+          (string? expected)]}
+   (let [checked (volatile! 0)
+         continue? (fn [^StringBuilder result]
+                     (let [from @checked
+                           to (.length result)]
+                       (vreset! checked to)
+                       (Util/regionEquals result expected from to)))]
+     (if-some [^StringBuilder result (binding [f/*source* (:source (meta root-node))]
+                                      (format-root* (root-ctx width algorithm) root-node continue?))]
+       (and (= (.length result) (.length expected))
+            (Util/regionEquals result expected @checked (.length result)))
+       false))))
@@ -3,7 +3,8 @@
                               begin-chars end-chars maxl may-outer-fit-one-line?]]
             [imo.layout.core :as l]
             [imo.layout.builder :as b])
-  (:import (java.util LinkedList)))
+  (:import (java.util LinkedList)
+           (java.util.concurrent.atomic AtomicLong)))
 
 (defrecord Context
   [^long target-width
@@ -16,68 +17,166 @@
 (defn context? [x]
   (instance? Context x))
 
+(defn- reconstruct-preserved-lines
+  "Reconstructs lines of the original node text by walking the node
+   and its meta nodes recursively"
+  [node alignment]
+  (letfn [(get-last-line [^LinkedList lines]
+            (.getLast lines))
+          (write-lines* [lines nodes]
+            (doseq [node nodes]
+              (write-lines lines node)))
+          (new-line [absolute initially-ignored-spaces]
+            ^{:ignored (volatile! initially-ignored-spaces)}
+            {:absolute absolute
+             :content  (StringBuilder.)})
+          (write-lines [^LinkedList lines [node-type :as node]]
+            (let [{:keys [pre* post* children*]} (meta node)
+                  _ (write-lines* lines pre*)
+                  {:keys [^StringBuilder content] :as last-line} (get-last-line lines)
+                  ingnored-spaces (:ignored (meta last-line))]
+              (when-let [chars (begin-chars node-type)]
+                (.append content chars))
+              (cond
+                ;; newline - add new non-absolute line to the result
+                (= :newline node-type)
+                (.add lines (new-line false 0))
+                ;; space - remove heading whitespace up to the column if possible
+                (= :space node-type)
+                (if (pos? (.length content))
+                  (.append content ^String (second node))
+                  (let [to-ignore-count (maxl 0 (- alignment @ingnored-spaces))
+                        pending-count (.length ^String (second node))]
+                    (when (> pending-count to-ignore-count)
+                      (.append content (spaces (- pending-count to-ignore-count))))))
+                ;; string - split it to lines, add first line to the current line
+                ;; and remaining lines as absolute lines to the result
+                (= :string node-type)
+                (let [[x & xs] (split-lines (second node))]
+                  (.append content x)
+                  (doseq [x xs]
+                    (let [line (new-line true alignment)]
+                      (.append ^StringBuilder (:content line) x)
+                      (.add lines line))))
+                ;; other terminals and whitespaces - append to the current line
+                (or (contains? terminal-node-types node-type)
+                    (contains? whitespace-node-types node-type))
+                (.append content (second node))
+                ;; other nodes - write contents recusively
+                :else (write-lines* lines (remove nil? (next node))))
+              (write-lines* lines children*)
+              (when-let [chars (end-chars node-type)]
+                (.append ^StringBuilder (:content (get-last-line lines)) chars))
+              (write-lines* lines post*)
+              lines))]
+    ;; Meta nodes are already formatted from the top-level node, so remove
+    ;; them before writing line information
+    (->> (vary-meta node dissoc :pre* :post* :children*)
+         (write-lines (LinkedList. [(new-line false alignment)]))
+         (mapv #(update % :content str)))))
+
+(def ^:dynamic ^String *source*
+  "Source of the currently formatted root node. When bound, preserved
+   nodes are rendered by slicing their original text from the source
+   instead of reconstructing it from the node."
+  nil)
+
+(defn- source-whitespace? [^long ch]
+  (and (not= ch 10)
+       (or (= ch 44)
+           (Character/isWhitespace (int ch)))))
+
+(defn- slice-preserved-lines
+  "Slices lines of the original node text from the source. Leading
+   whitespace of each line is removed up to the node's alignment, except
+   for the lines that start inside a string literal: those are retained
+   as absolute lines."
+  [^String source ^long start ^long end ^long alignment]
+  (loop [i start
+         line-start start
+         prefix ""
+         absolute? false
+         in-string? false
+         in-comment? false
+         lines (transient [])]
+    (if (< i end)
+      (let [ch (int (.charAt source i))]
+        (cond
+          (= ch 10)
+          (let [lines (conj! lines {:absolute absolute?
+                                    :content  (str prefix (subs source line-start i))})
+                next-start (inc i)]
+            (if in-string?
+              (recur next-start next-start "" true true false lines)
+              (let [ws-end (long (loop [j next-start]
+                                   (if (and (< j end) (source-whitespace? (int (.charAt source j))))
+                                     (recur (inc j))
+                                     j)))
+                    n-spaces (- ws-end next-start alignment)]
+                (recur ws-end ws-end (if (pos? n-spaces) (spaces n-spaces) "") false false false lines))))
+          in-comment? (recur (inc i) line-start prefix absolute? false true lines)
+          in-string? (case ch
+                       92 (recur (+ i 2) line-start prefix absolute? true false lines)
+                       34 (recur (inc i) line-start prefix absolute? false false lines)
+                       (recur (inc i) line-start prefix absolute? true false lines))
+          :else (case ch
+                  34 (recur (inc i) line-start prefix absolute? true false lines)
+                  59 (recur (inc i) line-start prefix absolute? false true lines)
+                  ;; character literal, e.g. \" or \;
+                  92 (recur (+ i 2) line-start prefix absolute? false false lines)
+                  35 (if (and (< (inc i) end) (= \! (.charAt source (inc i))))
+                       (recur (+ i 2) line-start prefix absolute? false true lines)
+                       (recur (inc i) line-start prefix absolute? false false lines))
+                  (recur (inc i) line-start prefix absolute? false false lines))))
+      (persistent! (conj! lines {:absolute absolute?
+                                 :content  (str prefix (subs source line-start end))})))))
+
 (defn format-inner-node-preserve-formatting
   "Creates a layout that tries to preserve the original node
    formatting as much as possible"
   [node]
   {:pre [(node? node)]}
-  (let [alignment (dec (:col (meta node)))]
-    (letfn [(get-last-line [^LinkedList lines]
-              (.getLast lines))
-            (write-lines* [lines nodes]
-              (doseq [node nodes]
-                (write-lines lines node)))
-            (new-line [absolute initially-ignored-spaces]
-              ^{:ignored (volatile! initially-ignored-spaces)}
-              {:absolute absolute
-               :content  (StringBuilder.)})
-            (write-lines [^LinkedList lines [node-type :as node]]
-              (let [{:keys [pre* post* children*]} (meta node)
-                    _ (write-lines* lines pre*)
-                    {:keys [^StringBuilder content] :as last-line} (get-last-line lines)
-                    ingnored-spaces (:ignored (meta last-line))]
-                (when-let [chars (begin-chars node-type)]
-                  (.append content chars))
-                (cond
-                  ;; newline - add new non-absolute line to the result
-                  (= :newline node-type)
-                  (.add lines (new-line false 0))
-                  ;; space - remove heading whitespace up to the column if possible
-                  (= :space node-type)
-                  (if (pos? (.length content))
-                    (.append content ^String (second node))
-                    (let [to-ignore-count (maxl 0 (- alignment @ingnored-spaces))
-                          pending-count (.length ^String (second node))]
-                      (when (> pending-count to-ignore-count)
-                        (.append content (spaces (- pending-count to-ignore-count))))))
-                  ;; string - split it to lines, add first line to the current line
-                  ;; and remaining lines as absolute lines to the result
-                  (= :string node-type)
-                  (let [[x & xs] (split-lines (second node))]
-                    (.append content x)
-                    (doseq [x xs]
-                      (let [line (new-line true alignment)]
-                        (.append ^StringBuilder (:content line) x)
-                        (.add lines line))))
-                  ;; other terminals and whitespaces - append to the current line
-                  (or (contains? terminal-node-types node-type)
-                      (contains? whitespace-node-types node-type))
-                  (.append content (second node))
-                  ;; other nodes - write contents recusively
-                  :else (write-lines* lines (remove nil? (next node))))
-                (write-lines* lines children*)
-                (when-let [chars (end-chars node-type)]
-                  (.append ^StringBuilder (:content (get-last-line lines)) chars))
-                (write-lines* lines post*)
-                lines))]
-      ;; Meta nodes are already formatted from the top-level node, so remove
-      ;; them before writing line information
-      (->> (vary-meta node dissoc :pre* :post* :children*)
-           (write-lines (LinkedList. [(new-line false alignment)]))
-           (mapv #(update % :content str))
-           (l/multiline)))))
-
-(defmulti format-inner-node (fn [node _offset _target-width _alternative] (first node)))
+  (let [{:keys [col start end]} (meta node)
+        alignment (dec col)]
+    (l/multiline
+      (if (and (some? *source*) (some? start) (some? end))
+        (slice-preserved-lines *source* start end alignment)
+        (reconstruct-preserved-lines node alignment)))))
+
+(def ^:const large-coll-threshold
+  "Collections having at least this many children are laid out
+   with linear fast paths if all their children are simple terminals"
+  64)
+
+(defn simple-terminal?
+  "Returns boolean whether the given node is a single line terminal
+   without any meta nodes, i.e. it's always formatted as its text"
+  [[node-type text :as node]]
+  (and (contains? terminal-node-types node-type)
+       (string? text)
+       (let [{:keys [pre post outer-lines]} (meta node)]
+         (and (nil? (seq pre))
+              (nil? (seq post))
+              (= 0 outer-lines)))))
+
+(defn large-data-literal?
+  "Returns boolean whether the given collection node is a large data
+   literal: it has many children and all of them are simple terminals"
+  [[_ & children :as node]]
+  (and (>= (count node) (inc large-coll-threshold))
+       (nil? (seq (:children (meta node))))
+       (every? simple-terminal? children)))
+
+(def ^:dynamic ^AtomicLong *invocation-counter*
+  "When bound, counts `format-inner-node` invocations. Used for
+   profiling slow top-level forms."
+  nil)
+
+(defmulti format-inner-node
+  (fn [node _offset _target-width _alternative]
+    (when-some [counter *invocation-counter*]
+      (.incrementAndGet ^AtomicLong counter))
+    (first node)))
 
 (defmethod format-inner-node :comment [[_ text] _ _ _]
   (l/comment text))
@@ -68,10 +68,40 @@
           map-b)]
     (b/build! map-b)))
 
+(defn format-aligned-linear
+  "Same as `format-aligned` but for large maps containing only simple
+   terminals. Runs in linear time without intermediate key builders."
+  [[_ & children] offset target-width alternative]
+  (let [k-offset (inc offset)
+        v-offset (loop [[k _ & xs] children
+                        max-k-len 0]
+                   (if k
+                     (recur xs (maxl max-k-len (.length ^String (second k))))
+                     (+ k-offset max-k-len 1)))]
+    (loop [b (b/coll-builder offset target-width alternative "{" "}" false)
+           [k v & xs] children
+           first-kv? true]
+      (if k
+        (let [^String k-text (second k)
+              ^String v-text (second v)]
+          (when (or (zero? alternative)
+                    (and (<= (+ k-offset (.length k-text)) target-width)
+                         (<= (+ v-offset (.length v-text)) target-width)))
+            (recur (-> (if first-kv? b (b/add! b :break))
+                       (b/add! k-text)
+                       (b/add! (- v-offset k-offset (.length k-text)))
+                       (b/add! v-text))
+                   xs
+                   false)))
+        (b/build! b)))))
+
 (defmethod f/format-inner-node :map [node offset target-width alternative]
   (or (format-one-line node offset target-width (max alternative 8))
       (when (< alternative 8)
-        (format-aligned node offset target-width alternative))))
+        (if (and (even? (dec (count node)))
+                 (f/large-data-literal? node))
+          (format-aligned-linear node offset target-width alternative)
+          (format-aligned node offset target-width alternative)))))
 
 (comment
 
@@ -0,0 +1,146 @@
+(ns imo.formatter.optimal
+  "Alternative layout backend that compiles analyzed nodes into a
+   document (see `imo.layout.optimal`) and lets the pretty printer
+   choose the line breaks, instead of searching layouts greedily
+   with `format-inner-node` alternatives"
+  (:require [imo.util :refer [begin-chars terminal-node-types]]
+            [imo.formatter.core :as f]
+            [imo.formatter.list-formatter :as list-formatter]
+            [imo.layout.optimal :as d]))
+
+(declare outer-doc)
+
+(defn- meta-doc [[node-type text :as node]]
+  (if (= :comment node-type)
+    (d/comment text)
+    (outer-doc node)))
+
+(defn- separated
+  "Joins documents with lines. Comments end the line by themselves
+   so they don't need a separator."
+  [docs]
+  (loop [[x & xs] docs
+         prev nil
+         res []]
+    (if x
+      (recur xs x (if (or (nil? prev) (d/comment? prev))
+                    (conj res x)
+                    (conj res d/line x)))
+      (apply d/concat res))))
+
+(defn- form-style?
+  "Returns boolean whether the list has a form specific style in the
+   greedy formatter"
+  [node]
+  (let [{:keys [resolve-as invalid?]} (meta node)]
+    (and (some? resolve-as)
+         (not invalid?)
+         (not (identical? (get-method list-formatter/format-form resolve-as)
+                          (get-method list-formatter/format-form :default))))))
+
+(defn- greedy-doc
+  "Formats the node with the greedy formatter at the position where
+   the document is rendered"
+  [node]
+  (d/embed #(f/format-inner-node node %1 %2 0)
+           (f/format-inner-node node 0 Integer/MAX_VALUE 0)))
+
+(defn- inner-doc [[node-type & children :as node]]
+  ;; Analysis leaves nils in place of the missing optional nodes
+  (case node-type
+    :list
+    (if (form-style? node)
+      (greedy-doc node)
+      (let [child-docs (map outer-doc (remove nil? children))
+            meta-docs (map outer-doc (:children (meta node)))
+            [fname arg-1 & args] (cond
+                                   (empty? child-docs) meta-docs
+                                   ;; like in the greedy formatter, the arguments go
+                                   ;; to their own lines if the first one is missing
+                                   (nil? (second children))
+                                   (list* (first child-docs) nil (concat (next child-docs) meta-docs))
+                                   :else (concat child-docs meta-docs))
+            docs (remove nil? (list* fname arg-1 args))]
+        (if fname
+          (d/group
+            (d/align
+              (d/concat
+                (d/text "(")
+                fname
+                (when arg-1
+                  (if (d/comment? fname)
+                    arg-1
+                    (d/concat (d/text " ") arg-1)))
+                (when (seq args)
+                  (d/nest 2 (if (d/comment? (or arg-1 fname))
+                              (separated args)
+                              (d/concat d/line (separated args)))))
+                ;; closing paren can't follow a comment so it goes to
+                ;; the next line, indented like the arguments
+                (if (d/ends-with-comment? (last docs))
+                  (d/nest 2 (d/concat d/hardline (d/text ")")))
+                  (d/text ")")))))
+          (d/text "()"))))
+    :vector
+    (if-let [children (seq (remove nil? (concat children (:children (meta node)))))]
+      (d/group
+        (d/concat
+          (d/text "[")
+          (d/align (separated (map outer-doc children)))
+          (d/text "]")))
+      (d/text "[]"))
+    :map
+    (if (seq (remove nil? (concat children (:children (meta node)))))
+      (let [kv-pairs (partition-all 2 (remove nil? children))
+            key-docs (mapv #(outer-doc (first %)) kv-pairs)
+            key-width (reduce max 0 (map d/flat-width key-docs))
+            pairs (for [[[_ v] k-doc] (map vector kv-pairs key-docs)]
+                    (if v
+                      (let [k-fw (d/flat-width k-doc)
+                            pad (if (neg? k-fw) 1 (- (inc key-width) k-fw))]
+                        (d/concat k-doc
+                                  (d/alt (d/text " ") (d/text (apply str (repeat pad \space))))
+                                  (outer-doc v)))
+                      k-doc))]
+        (d/group
+          (d/concat
+            (d/text "{")
+            (d/align (separated (concat pairs (map meta-doc (:children (meta node))))))
+            (d/text "}"))))
+      (d/text "{}"))
+    (:meta :quote :syntax-quote :var-quote :unquote :unquote-splice :deref)
+    (d/concat (d/text (begin-chars node-type))
+              (outer-doc (first children)))
+    (if (and (contains? terminal-node-types node-type)
+             (string? (first children))
+             (= 0 (:inner-lines (meta node))))
+      (d/text (first children))
+      ;; multi-line strings and other nodes use the same layouts as
+      ;; the greedy formatter
+      (greedy-doc node))))
+
+(defn- outer-doc [node]
+  (if (= :comment (first node))
+    (d/comment (second node))
+    (let [{:keys [pre post]} (meta node)
+          inner (inner-doc node)]
+      ;; meta nodes are separated by the lines of the enclosing group
+      ;; so they're on their own lines if the enclosing node is broken,
+      ;; like in the greedy formatter
+      (if (or (seq pre) (seq post))
+        (d/align
+          (d/concat
+            (separated (concat (map meta-doc pre) [inner]))
+            (when (seq post)
+              (apply d/concat (for [p post]
+                                ;; trailing comments stay on the same line,
+                                ;; rendering aligns them
+                                (if (= :comment (first p))
+                                  (d/comment (second p))
+                                  (d/concat d/line (meta-doc p))))))))
+        inner))))
+
+(defn format-top-level-form
+  "Creates a layout for the given top level form"
+  [form target-width]
+  (d/layout (inner-doc form) 0 target-width))
@@ -10,19 +10,35 @@
               (<= (+ offset (.length s)) target-width))
       s)))
 
-(defmethod format-inner-node :string [[_ ^String s] offset target-width alternative]
-  (let [lines (split-lines s)
-        layout (case (count lines)
-                 1 s
-                 (->> (for [line (next lines)]
-                        {:absolute true
-                         :content  line})
-                      (cons {:absolute false
-                             :content  (first lines)})
-                      (l/multiline)))]
-    (when (or (zero? alternative)
-              (<= (l/width layout offset) target-width))
-      layout)))
+(defn- multiline-string-layout [s]
+  (let [[line & lines] (split-lines s)]
+    (->> (for [line lines]
+           {:absolute true
+            :content  line})
+         (cons {:absolute false
+                :content  line})
+         (l/multiline))))
+
+(defmethod format-inner-node :string [[_ ^String s :as node] offset target-width alternative]
+  (let [{:keys [inner-lines first-line-length max-line-length]} (meta node)]
+    (cond
+      ;; Single line string, no need to split it at all
+      (= 0 inner-lines)
+      (when (or (zero? alternative)
+                (<= (+ offset (.length s)) target-width))
+        s)
+      ;; Multi-line string with reader statistics: subsequent lines are
+      ;; absolute so only the first line depends on the offset
+      (some? first-line-length)
+      (when (or (zero? alternative)
+                (and (<= (+ offset first-line-length) target-width)
+                     (<= max-line-length target-width)))
+        (multiline-string-layout s))
+      :else
+      (let [layout (multiline-string-layout s)]
+        (when (or (zero? alternative)
+                  (<= (l/width layout offset) target-width))
+          layout)))))
 
 
 (comment
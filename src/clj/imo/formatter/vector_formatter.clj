@@ -28,10 +28,30 @@
       (recur (b/add! b (f/format-outer-node-align-meta x (b/offset b) target-width alternative)) xs)
       (b/build! b))))
 
+(defn format-aligned-linear
+  "Same as `format-aligned` but for large vectors containing only
+   simple terminals. Runs in linear time without per-item builders."
+  [[_ & children] offset target-width alternative]
+  (let [item-offset (inc offset)]
+    (loop [b (b/coll-builder offset target-width alternative "[" "]" false)
+           [x & xs] children
+           first? true]
+      (if x
+        (let [^String text (second x)]
+          (when (or (zero? alternative)
+                    (<= (+ item-offset (.length text)) target-width))
+            (recur (-> (if first? b (b/add! b :break))
+                       (b/add! text))
+                   xs
+                   false)))
+        (b/build! b)))))
+
 (defmethod f/format-inner-node :vector [node offset target-width alternative]
   (or (format-one-line node offset target-width (max alternative 5))
       (when (< alternative 5)
-        (format-aligned node offset target-width alternative))))
+        (if (f/large-data-literal? node)
+          (format-aligned-linear node offset target-width alternative)
+          (format-aligned node offset target-width alternative)))))
 
 (comment
   (fmt* [1 2 3])
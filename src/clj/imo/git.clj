@@ -0,0 +1,121 @@
+(ns imo.git
+  (:require [clojure.java.io :as io]
+            [clojure.string :as string]
+            [imo.logger :refer [vv]])
+  (:import (java.io ByteArrayOutputStream ByteArrayInputStream File InputStream)
+           (java.nio.charset StandardCharsets)
+           (imo ImoException)))
+
+(def ^:dynamic *dir*
+  "Directory where git commands are run and returned files are resolved
+   from. Defaults to the current working directory."
+  nil)
+
+(defn- read-bytes ^bytes [^InputStream is]
+  (let [out (ByteArrayOutputStream.)]
+    (io/copy is out)
+    (.toByteArray out)))
+
+(defn- git
+  "Runs the git command with the given arguments and returns its
+   stdout as bytes. Throws `ImoException` if the command fails."
+  (^bytes [args] (git args nil))
+  (^bytes [args ^bytes stdin]
+   (vv "running git " (string/join " " args))
+   (let [^Process process (try
+                   (-> (ProcessBuilder. ^java.util.List (cons "git" args))
+                       (.directory (some-> *dir* (io/file)))
+                       (.start))
+                   (catch Exception ex
+                     (throw (ImoException. (str "Could not run git: " (.getMessage ^Exception ex))))))
+         err (future (slurp (.getErrorStream process)))]
+     (with-open [os (.getOutputStream process)]
+       (when stdin
+         (.write os stdin)))
+     (let [out (read-bytes (.getInputStream process))
+           exit-code (.waitFor process)]
+       (when-not (zero? exit-code)
+         (throw (ImoException. (str "git " (first args) " failed: " (string/trim @err)))))
+       out))))
+
+(defn- git-str ^String [& args]
+  (String. (git args) StandardCharsets/UTF_8))
+
+(defn- git-paths
+  "Returns paths relative to the current working directory from
+   a NUL separated git output"
+  [& args]
+  (->> (string/split (apply git-str args) #"\u0000")
+       (remove string/blank?)))
+
+(defn changed-files
+  "Returns files that have been added, copied, modified or renamed
+   since the given ref, including untracked files. Only files under
+   the current working directory are returned."
+  [ref]
+  {:pre [(string? ref)]}
+  (->> (concat (git-paths "diff" "-z" "--name-only" "--relative" "--diff-filter=ACMR" ref "--")
+               (git-paths "ls-files" "-z" "--others" "--exclude-standard"))
+       (distinct)
+       (map #(io/file *dir* %))
+       (filter #(.isFile ^File %))))
+
+;; Staged contents
+
+(defn- index-entry
+  "Returns [mode object-id full-path] of the staged path"
+  [path]
+  (let [[info full-path] (-> (git-str "ls-files" "--stage" "--full-name" "--" path)
+                             (string/trim-newline)
+                             (string/split #"\t" 2))
+        [mode object-id] (string/split (str info) #" ")]
+    (when-not full-path
+      (throw (ImoException. (str "File is not staged: " path))))
+    [mode object-id full-path]))
+
+(defn- read-blob ^bytes [object-id]
+  (git ["cat-file" "blob" object-id]))
+
+(defn- write-staged!
+  "Writes contents to the git index as the staged contents of the given
+   path. Working tree file is updated as well if it doesn't have any
+   unstaged changes, so that the formatted changes won't show up as
+   unstaged modifications."
+  [path ^bytes contents]
+  (let [[mode object-id full-path] (index-entry path)
+        file (io/file *dir* path)
+        original (read-blob object-id)
+        new-object-id (string/trim (String. (git ["hash-object" "-w" "--stdin"] contents) StandardCharsets/UTF_8))]
+    (git ["update-index" "--cacheinfo" (str mode "," new-object-id "," full-path)])
+    (when (and (.isFile file)
+               (java.util.Arrays/equals original ^bytes (read-bytes (io/input-stream file))))
+      (io/copy contents file))))
+
+(defrecord StagedFile [dir path])
+
+(extend StagedFile
+  io/Coercions
+  {:as-file (fn [{:keys [dir path]}] (io/file dir path))
+   :as-url  (fn [{:keys [dir path]}] (io/as-url (io/file dir path)))}
+  io/IOFactory
+  (assoc io/default-streams-impl
+    :make-input-stream
+    (fn [{:keys [dir path]} _]
+      (binding [*dir* dir]
+        (let [[_ object-id] (index-entry path)]
+          (ByteArrayInputStream. (read-blob object-id)))))
+    :make-output-stream
+    (fn [{:keys [dir path]} _]
+      (proxy [ByteArrayOutputStream] []
+        (close []
+          (binding [*dir* dir]
+            (write-staged! path (.toByteArray ^ByteArrayOutputStream this))))))))
+
+(defn staged-files
+  "Returns files that have been added, copied, modified or renamed in the
+   git index. Returned files read and write the staged contents instead
+   of the working tree. Only files under the current working directory
+   are returned."
+  []
+  (->> (git-paths "diff" "-z" "--cached" "--name-only" "--relative" "--diff-filter=ACMR")
+       (map #(->StagedFile *dir* %))))
@@ -1,38 +1,352 @@
 (ns imo.glob
-  (:require [clojure.java.io :as io]
-            [clojure.string :as string])
+  (:require [clojure.string :as string])
   (:import (java.io File)
-           (java.nio.file FileSystems Path)
+           (java.nio.file FileSystems FileVisitOption FileVisitResult FileVisitor Files LinkOption Path PathMatcher Paths)
+           (java.nio.file.attribute BasicFileAttributes)
+           (java.util ArrayList Collection EnumSet List)
+           (java.util.stream Stream)
            (imo ImoException)))
 
-(defn- walk [^File dir wilcard-dirs? [glob & globs]]
-  (if (some? glob)
-    (if (= "**" glob)
-      (let [full-glob (string/join "/" (cons glob globs))
-            matcher (.getPathMatcher (FileSystems/getDefault) (str "glob:" full-glob))]
-        (->> (file-seq dir)
-             (filter #(and (.isFile ^File %)
-                           (.matches matcher (Path/of (.toURI ^File %)))))))
-      (let [matcher (.getPathMatcher (FileSystems/getDefault) (str "glob:**/" glob))
-            file-list (seq (.listFiles ^File dir))]
-        (concat
-          (when (empty? globs)
-            (->> (filter #(.isFile ^File %) file-list)
-                 (filter #(.matches matcher (Path/of (.toURI ^File %))))))
-          (->> (filter #(.isDirectory ^File %) file-list)
-               (filter #(or wilcard-dirs? (.matches matcher (Path/of (.toURI ^File %)))))
-               (mapcat #(walk % wilcard-dirs? globs))))))
-    []))
+;; Patterns
+
+(defrecord Pattern
+  [^Path base
+   ^Path abs-base
+   segment-matchers
+   ^PathMatcher matcher
+   ^PathMatcher dir-matcher])
+
+(defn- path-matcher ^PathMatcher [glob]
+  (.getPathMatcher (FileSystems/getDefault) (str "glob:" glob)))
+
+(defn- glob-segment? [s]
+  (some? (re-find #"[*?\[\]{}]" s)))
+
+(defn- segments->glob [segments]
+  ;; Java globs require at least one directory for "**/", so use
+  ;; alternation to match zero directories as well
+  (-> (string/join "/" segments)
+      (string/replace #"(^|/)\*\*/" "$1{,**/}")))
+
+(defn- abs-path ^Path [^Path path]
+  (.normalize (.toAbsolutePath path)))
+
+(defn- no-links []
+  (make-array LinkOption 0))
+
+(defn- empty-path? [^Path path]
+  (= "" (.toString path)))
+
+(defn- parse-pattern
+  "Splits glob into literal base directory and wildcard segments
+   relative to the base directory"
+  [^String glob]
+  (when (empty? glob)
+    (throw (ImoException. "File pattern can't be empty")))
+  (let [absolute? (string/starts-with? glob "/")
+        segments (remove #(contains? #{"" "."} %) (string/split glob #"/"))
+        [literal wildcard] (split-with (complement glob-segment?) segments)
+        ;; the last segment is always matched against files
+        [literal wildcard] (if (empty? wildcard)
+                             [(butlast literal) (take-last 1 literal)]
+                             [literal wildcard])
+        base (Paths/get (if absolute? "/" ".") (into-array String literal))]
+    (when (empty? wildcard)
+      (throw (ImoException. (str "Invalid file pattern: " glob))))
+    (map->Pattern
+      {:base             base
+       :abs-base         (abs-path base)
+       :segment-matchers (mapv #(when (not= "**" %) (path-matcher %)) wildcard)
+       :matcher          (path-matcher (segments->glob wildcard))
+       ;; e.g. "target/**" matches everything inside the directory
+       :dir-matcher      (when (= "**" (last wildcard))
+                           (if-let [dir-segments (seq (butlast wildcard))]
+                             (path-matcher (segments->glob dir-segments))
+                             (path-matcher "**")))})))
+
+(defn- relative-to ^Path [^Path base ^Path path]
+  (when (.startsWith path base)
+    (.relativize base path)))
+
+(defn- may-contain-matches?
+  "Returns boolean whether the directory (relative to the pattern base)
+   may contain files matching the given pattern"
+  [{:keys [segment-matchers]} ^Path rel-dir]
+  (let [n-dirs (if (empty-path? rel-dir) 0 (.getNameCount rel-dir))
+        n-segments (count segment-matchers)]
+    (loop [i 0]
+      (if (< i n-dirs)
+        (let [m (nth segment-matchers i nil)]
+          (cond
+            ;; "**" matches any directory from here on
+            (and (nil? m) (< i n-segments)) true
+            ;; last segment matches only files
+            (>= i (dec n-segments)) false
+            (.matches ^PathMatcher m (.getName rel-dir i)) (recur (inc i))
+            :else false))
+        true))))
+
+(defn- matches? [{:keys [^PathMatcher matcher]} ^Path rel-path]
+  (.matches matcher rel-path))
+
+(defn- included? [includes ^Path path]
+  (some (fn [{:keys [base] :as pattern}]
+          (when-let [rel (relative-to base path)]
+            (matches? pattern rel)))
+        includes))
+
+(defn- may-include? [includes ^Path dir]
+  (some (fn [{:keys [base] :as pattern}]
+          (when-let [rel (relative-to base dir)]
+            (may-contain-matches? pattern rel)))
+        includes))
+
+(defn- excluded-dir? [{:keys [abs-base ^PathMatcher dir-matcher] :as pattern} ^Path abs-dir]
+  (if-let [rel (relative-to abs-base abs-dir)]
+    (or (and (not (empty-path? rel))
+             (matches? pattern rel))
+        (and (some? dir-matcher)
+             (.matches dir-matcher rel)))
+    false))
+
+(defn- matches-file? [{:keys [abs-base] :as pattern} ^Path abs-file]
+  (if-let [rel (relative-to abs-base abs-file)]
+    (matches? pattern rel)
+    false))
+
+;; .gitignore support
+
+(defrecord IgnoreRule [^Path dir negate? dir-only? anchored? ^PathMatcher matcher])
+
+(defn- parse-ignore-line [^Path dir ^String line]
+  (let [line (string/trimr line)]
+    (when-not (or (string/blank? line)
+                  (string/starts-with? line "#"))
+      (let [negate? (string/starts-with? line "!")
+            line (if negate? (subs line 1) line)
+            line (if (string/starts-with? line "\\") (subs line 1) line)
+            dir-only? (string/ends-with? line "/")
+            line (string/replace line #"/+$" "")
+            anchored? (string/includes? line "/")
+            line (string/replace line #"^/" "")]
+        (when-not (string/blank? line)
+          (->IgnoreRule dir negate? dir-only? anchored? (path-matcher (segments->glob (string/split line #"/")))))))))
+
+(defn- read-ignore-rules [^Path dir]
+  (let [f (.toFile (.resolve dir ".gitignore"))]
+    (when (.isFile f)
+      (->> (string/split-lines (slurp f))
+           (keep #(parse-ignore-line (abs-path dir) %))
+           (seq)))))
+
+(defn- ignore-rule-matches? [{:keys [dir dir-only? anchored? ^PathMatcher matcher]} ^Path abs-path dir?]
+  (and (or dir? (not dir-only?))
+       (if anchored?
+         (if-let [rel (relative-to dir abs-path)]
+           (.matches matcher rel)
+           false)
+         (.matches matcher (.getFileName abs-path)))))
+
+(defn- ignored?
+  "Evaluates the given ignore rule sets (from outermost to innermost
+   directory) against the path. The last matching rule wins."
+  [rule-sets ^Path abs-path dir?]
+  (reduce (fn [result rule]
+            (if (ignore-rule-matches? rule abs-path dir?)
+              (not (:negate? rule))
+              result))
+          false
+          (apply concat rule-sets)))
+
+;; Walking
+
+(defn- walk-dir? [dir includes excludes gitignore? rule-sets]
+  (let [abs-dir (abs-path dir)]
+    (and (may-include? includes dir)
+         (not-any? #(excluded-dir? % abs-dir) excludes)
+         (not (and gitignore?
+                   (or (= ".git" (str (.getFileName abs-dir)))
+                       (ignored? rule-sets abs-dir true)))))))
+
+(defn- accept-file? [file includes excludes gitignore? rule-sets]
+  (let [abs-file (abs-path file)]
+    (and (included? includes file)
+         (not-any? #(matches-file? % abs-file) excludes)
+         (not (and gitignore? (ignored? rule-sets abs-file false))))))
+
+(defn- walk-dir!
+  "Walks the given directory recursively and adds files matching any
+   of the includes to the result list. Directories that can't contain
+   matching files are pruned."
+  [^Path dir includes excludes gitignore? initial-rule-sets ^List result]
+  (let [rule-sets (volatile! initial-rule-sets)
+        rule-sets-stack (volatile! '())]
+    (Files/walkFileTree
+      dir
+      (EnumSet/of FileVisitOption/FOLLOW_LINKS)
+      Integer/MAX_VALUE
+      (reify FileVisitor
+        (preVisitDirectory [_ d _]
+          (if (walk-dir? d includes excludes gitignore? @rule-sets)
+            (do (vswap! rule-sets-stack conj @rule-sets)
+                (when-let [rules (and gitignore? (read-ignore-rules d))]
+                  (vswap! rule-sets conj rules))
+                FileVisitResult/CONTINUE)
+            FileVisitResult/SKIP_SUBTREE))
+        (visitFile [_ f attrs]
+          (when (and (.isRegularFile ^BasicFileAttributes attrs)
+                     (accept-file? f includes excludes gitignore? @rule-sets))
+            (.add result (.toFile ^Path f)))
+          FileVisitResult/CONTINUE)
+        (visitFileFailed [_ _ _]
+          FileVisitResult/CONTINUE)
+        (postVisitDirectory [_ _ _]
+          (vreset! rule-sets (first @rule-sets-stack))
+          (vswap! rule-sets-stack rest)
+          FileVisitResult/CONTINUE)))
+    result))
+
+(defn- ancestor-rule-sets
+  "Returns ignore rule sets from the current working directory
+   down to (but excluding) the given base directory"
+  [^Path base]
+  (let [cwd (abs-path (Paths/get "." (make-array String 0)))]
+    (if-let [rel (relative-to cwd (abs-path base))]
+      (->> (reductions #(.resolve ^Path %1 ^Path %2) cwd (when-not (empty-path? rel) (seq rel)))
+           (butlast)
+           (keep read-ignore-rules)
+           (vec))
+      [])))
+
+(defn- walk-base-parallel
+  "Walks immediate sub-directories of the base directory concurrently"
+  [^Path base includes excludes gitignore? rule-sets]
+  (let [rule-sets (if-let [rules (and gitignore? (read-ignore-rules base))]
+                    (conj rule-sets rules)
+                    rule-sets)
+        entries (with-open [s ^Stream (Files/list base)]
+                  (vec (iterator-seq (.iterator s))))
+        dir? #(Files/isDirectory ^Path % (no-links))
+        result (ArrayList.)]
+    (doseq [f (remove dir? entries)
+            :when (accept-file? f includes excludes gitignore? rule-sets)]
+      (.add result (.toFile ^Path f)))
+    (->> (filter dir? entries)
+         (pmap (fn [d]
+                 (if (walk-dir? d includes excludes gitignore? rule-sets)
+                   (walk-dir! d includes excludes gitignore? rule-sets (ArrayList.))
+                   [])))
+         (reduce (fn [^List acc ^Collection res] (doto acc (.addAll res))) result))))
+
+(defn- walk-base [^Path base includes excludes gitignore? parallel?]
+  (let [rule-sets (if gitignore? (ancestor-rule-sets base) [])]
+    (if (and parallel?
+             (Files/isDirectory base (no-links))
+             (walk-dir? base includes excludes gitignore? rule-sets))
+      (walk-base-parallel base includes excludes gitignore? rule-sets)
+      (walk-dir! base includes excludes gitignore? rule-sets (ArrayList.)))))
+
+(defn find-files
+  "Returns a sorted sequence of unique files matching any of the include
+   globs but none of the exclude globs. Directories that can't contain
+   matching files or that are excluded are not walked at all.
+
+   Options:
+     :gitignore?  skip files and directories ignored by .gitignore files
+     :parallel?   walk sub-directories concurrently"
+  ([includes excludes] (find-files includes excludes {}))
+  ([includes excludes {:keys [gitignore? parallel?]}]
+   {:pre [(every? string? includes)
+          (every? string? excludes)]}
+   (let [includes (map parse-pattern includes)
+         excludes (map parse-pattern excludes)]
+     (->> (group-by :base includes)
+          (mapcat (fn [[base includes]]
+                    (walk-base base includes excludes (boolean gitignore?) (boolean parallel?))))
+          (map #(vector (.getAbsolutePath ^File %) %))
+          (sort-by first)
+          (partition-by first)
+          (map (comp second first))))))
+
+(defn- gitignored?
+  "Returns boolean whether the file (or directory) or any of its parent
+   directories under the base directory is ignored by .gitignore files.
+   Rules are collected the same way as when walking the base with
+   `find-files`."
+  [^Path base ^Path abs-file dir?]
+  (if-let [rel (relative-to base abs-file)]
+    (loop [dir base
+           rule-sets (cond-> (ancestor-rule-sets base)
+                       (read-ignore-rules base) (conj (read-ignore-rules base)))
+           [segment & more] (butlast (seq rel))]
+      (if segment
+        (let [d (.resolve dir ^Path segment)]
+          (if (or (= ".git" (str segment))
+                  (ignored? rule-sets d true))
+            true
+            (recur d (if-let [rules (read-ignore-rules d)] (conj rule-sets rules) rule-sets) more)))
+        (or (and dir? (= ".git" (str (.getFileName abs-file))))
+            (ignored? rule-sets abs-file dir?))))
+    false))
+
+(defn file-matcher
+  "Returns a predicate that tests whether the given file matches any of the
+   include globs but none of the exclude globs. Unlike `find-files`, doesn't
+   walk the file system so it can be used to filter already known files.
+
+   Options:
+     :gitignore?  reject files ignored by .gitignore files"
+  ([includes excludes] (file-matcher includes excludes {}))
+  ([includes excludes {:keys [gitignore?]}]
+   {:pre [(every? string? includes)
+          (every? string? excludes)]}
+   (let [includes (mapv parse-pattern includes)
+         excludes (mapv parse-pattern excludes)]
+     (fn [^File file]
+       (let [abs-file (abs-path (.toPath file))
+             parents (take-while some? (iterate #(.getParent ^Path %) (.getParent abs-file)))]
+         (when-let [include (first (filter #(matches-file? % abs-file) includes))]
+           (and (not-any? #(matches-file? % abs-file) excludes)
+                (not-any? (fn [dir] (some #(excluded-dir? % dir) excludes)) parents)
+                (not (and gitignore? (gitignored? (:abs-base include) abs-file false))))))))))
+
+(defn dir-matcher
+  "Returns a predicate that tests whether the given directory may contain
+   files matching any of the include globs but none of the exclude globs,
+   i.e. whether `find-files` would walk it. Like `file-matcher`, doesn't
+   walk the file system.
+
+   Options:
+     :gitignore?  reject directories ignored by .gitignore files"
+  ([includes excludes] (dir-matcher includes excludes {}))
+  ([includes excludes {:keys [gitignore?]}]
+   {:pre [(every? string? includes)
+          (every? string? excludes)]}
+   (let [includes (mapv parse-pattern includes)
+         excludes (mapv parse-pattern excludes)]
+     (fn [^File dir]
+       (let [abs-dir (abs-path (.toPath dir))
+             dirs (take-while some? (iterate #(.getParent ^Path %) abs-dir))]
+         (boolean
+           (some (fn [{:keys [abs-base] :as include}]
+                   (when-let [rel (relative-to abs-base abs-dir)]
+                     (and (may-contain-matches? include rel)
+                          (not-any? (fn [d] (some #(excluded-dir? % d) excludes)) dirs)
+                          (not (and gitignore? (gitignored? abs-base abs-dir true))))))
+                 includes)))))))
+
+(defn base-dirs
+  "Returns the existing literal base directories of the given globs,
+   i.e. the directories that may contain matching files"
+  [globs]
+  {:pre [(every? string? globs)]}
+  (->> (map (comp :abs-base parse-pattern) globs)
+       (distinct)
+       (map #(.toFile ^Path %))
+       (filter #(.isDirectory ^File %))))
 
 (defn files
   "Returns a sequence of files matching the given glob"
   [glob]
   {:pre [(string? glob)]}
-  (when (empty? glob)
-    (throw (ImoException. "File pattern can't be empty")))
-  (cond
-    (string/starts-with? glob "/")
-    (walk (io/file "/") false (string/split (subs glob 1) #"/"))
-    (string/starts-with? glob "./")
-    (walk (io/file ".") false (string/split (subs glob 2) #"/"))
-    :else (walk (io/file ".") false (string/split glob #"/"))))
+  (find-files [glob] []))
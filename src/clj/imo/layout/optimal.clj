@@ -0,0 +1,165 @@
+(ns imo.layout.optimal
+  "Wadler/Leijen style document algebra and a pretty printer that
+   chooses layouts with a bounded lookahead. Documents are rendered
+   into the same layout vectors as the greedy formatters produce so
+   the results can be passed to `imo.layout.core/render`."
+  (:refer-clojure :exclude [concat comment])
+  (:require [imo.layout.core :as l]))
+
+;; Every document carries its flat width, i.e. the width of the document
+;; when all its lines are rendered as spaces. Flat width is -1 if the
+;; document can't be rendered flat (it contains hard line breaks).
+
+(defrecord Text [^String s ^long fw])
+(defrecord Line [^long fw])
+(defrecord HardLine [^long fw])
+(defrecord Concat [docs ^long fw])
+(defrecord Group [doc ^long fw])
+(defrecord Nest [^long n doc ^long fw])
+(defrecord Align [doc ^long fw])
+(defrecord Alt [flat broken ^long fw])
+(defrecord Embed [f ^long fw])
+(defrecord Comment [text ^long fw])
+
+(defn flat-width
+  "Returns the flat width of the document or -1 if the document
+   can't be rendered on a single line"
+  ^long [doc]
+  (:fw doc))
+
+(defn- sum-fw ^long [^long a ^long b]
+  (if (or (neg? a) (neg? b)) -1 (+ a b)))
+
+(defn text [^String s]
+  (->Text s (.length s)))
+
+(def line
+  "Line break, or a single space if the enclosing group fits flat"
+  (->Line 1))
+
+(def hardline
+  "Line break that is always rendered as line break"
+  (->HardLine -1))
+
+(defn concat [& docs]
+  (let [docs (vec (remove nil? docs))]
+    (->Concat docs (reduce #(sum-fw %1 (flat-width %2)) 0 docs))))
+
+(defn group
+  "Renders the document flat if it fits to the remaining width,
+   otherwise renders its lines as line breaks"
+  [doc]
+  (->Group doc (flat-width doc)))
+
+(defn nest
+  "Indents the lines of the document by `n` relative to the current
+   indentation"
+  [n doc]
+  (->Nest n doc (flat-width doc)))
+
+(defn align
+  "Indents the lines of the document to the current column"
+  [doc]
+  (->Align doc (flat-width doc)))
+
+(defn alt
+  "Uses `flat` document in flat mode and `broken` document otherwise"
+  [flat broken]
+  (->Alt flat broken (flat-width flat)))
+
+(defn embed
+  "Embeds an existing layout (see `imo.layout.core`) into the document.
+   The layout is created with `(f offset target-width)` when the document
+   is rendered. `flat` is the layout of the document when it's rendered
+   on a single line, or nil if the layout always has line breaks."
+  [f flat]
+  (->Embed f (if (and (some? flat) (zero? (l/line-breaks flat)))
+               (l/width flat 0)
+               -1)))
+
+(defn comment
+  "Line comment. Comment always ends the line."
+  [text]
+  (->Comment text -1))
+
+(defn comment? [doc]
+  (instance? Comment doc))
+
+(defn ends-with-comment?
+  "Returns boolean whether the document ends with a comment, i.e. the
+   content after it always starts from a new line"
+  [doc]
+  (condp instance? doc
+    Comment true
+    Concat (recur (peek (:docs doc)))
+    Group (recur (:doc doc))
+    Nest (recur (:doc doc))
+    Align (recur (:doc doc))
+    false))
+
+;;;;
+
+(defn- fits?
+  "Returns boolean whether the rest of the line fits to the remaining
+   width. Rest of the line is taken from the pending items until the
+   first line that is rendered as line break. Flat widths are used to
+   skip over flat documents in constant time."
+  [^long remaining pending]
+  (loop [remaining remaining
+         local '()
+         pending pending]
+    (cond
+      (neg? remaining) false
+      (seq local)
+      (let [[flat? doc] (first local)
+            local (next local)]
+        (condp instance? doc
+          Text (recur (- remaining (.length ^String (:s doc))) local pending)
+          Line (if flat? (recur (dec remaining) local pending) true)
+          HardLine true
+          Comment true
+          Concat (if (and flat? (>= (flat-width doc) 0))
+                   (recur (- remaining (flat-width doc)) local pending)
+                   (recur remaining (reduce #(cons [flat? %2] %1) local (rseq (:docs doc))) pending))
+          Group (if (and flat? (>= (flat-width doc) 0))
+                  (recur (- remaining (flat-width doc)) local pending)
+                  (recur remaining (cons [flat? (:doc doc)] local) pending))
+          Nest (recur remaining (cons [flat? (:doc doc)] local) pending)
+          Align (recur remaining (cons [flat? (:doc doc)] local) pending)
+          Alt (recur remaining (cons [flat? (if flat? (:flat doc) (:broken doc))] local) pending)
+          Embed (if (>= (flat-width doc) 0)
+                  (recur (- remaining (flat-width doc)) local pending)
+                  true)))
+      (seq pending)
+      (let [[_ flat? doc] (first pending)]
+        (recur remaining (list [flat? doc]) (next pending)))
+      :else true)))
+
+(defn layout
+  "Renders the document into a layout vector, starting at the given
+   offset and trying to fit the lines to the target width"
+  [doc ^long offset ^long target-width]
+  (loop [col offset
+         out (transient [])
+         pending (list [offset false doc])]
+    (if-let [[indent flat? doc] (first pending)]
+      (let [pending (next pending)]
+        (condp instance? doc
+          Text (recur (+ col (.length ^String (:s doc))) (conj! out (:s doc)) pending)
+          Line (if flat?
+                 (recur (inc col) (conj! out 1) pending)
+                 (recur (long indent) (conj! (conj! out :break) indent) pending))
+          HardLine (recur (long indent) (conj! (conj! out :break) indent) pending)
+          Comment (recur (long indent) (conj! (conj! out (l/comment (:text doc))) indent) pending)
+          Concat (recur col out (reduce #(cons [indent flat? %2] %1) pending (rseq (:docs doc))))
+          Nest (recur col out (cons [(+ (long indent) (long (:n doc))) flat? (:doc doc)] pending))
+          Align (recur col out (cons [col flat? (:doc doc)] pending))
+          Alt (recur col out (cons [indent flat? (if flat? (:flat doc) (:broken doc))] pending))
+          Embed (let [layout ((:f doc) col target-width)]
+                  (recur (long (l/next-offset layout col)) (conj! out layout) pending))
+          Group (let [fw (flat-width doc)
+                      flat? (or flat?
+                                (and (>= fw 0)
+                                     (fits? (- target-width col fw) pending)))]
+                  (recur col out (cons [indent flat? (:doc doc)] pending)))))
+      (persistent! out))))
@@ -1,5 +1,8 @@
-(ns imo.logger
-  (:import (imo LogLevel)))
+(ns imo.logger)
+
+(def ^:dynamic *log-level*
+  "Current debug log level, 0 = debug logging disabled"
+  0)
 
 (def ^:dynamic *current-file*
   "Current file to show in warning and debug logs"
@@ -32,8 +35,11 @@
 ;; Public stuff
 ;;
 
-(defn set-log-level! [^long level]
-  (LogLevel/setLogLevel level))
+(defn set-log-level!
+  "Sets the root log level. Prefer binding `*log-level*` when
+   formatting concurrently in the same JVM."
+  [^long level]
+  (alter-var-root #'*log-level* (constantly level)))
 
 (defn warn
   "Prints a warning for the given AST node."
@@ -44,42 +50,42 @@
 (defmacro v
   "Prints debug logging with level 1 (-v)"
   [& xs]
-  `(when (LogLevel/isLogLevelEnabled 1)
+  `(when (<= 1 *log-level*)
      (binding [*out* *debug-out*]
        (log nil "DEBUG" ~(vec xs)))))
 
 (defmacro vv
   "Prints debug logging with level 2 (-vv)"
   [& xs]
-  `(when (LogLevel/isLogLevelEnabled 2)
+  `(when (<= 2 *log-level*)
      (binding [*out* *debug-out*]
        (log nil "DEBUG" ~(vec xs)))))
 
 (defmacro vvv
   "Prints debug logging with level 3 (-vvv)"
   [& xs]
-  `(when (LogLevel/isLogLevelEnabled 3)
+  `(when (<= 3 *log-level*)
      (binding [*out* *debug-out*]
        (log nil "DEBUG" ~(vec xs)))))
 
 (defmacro vvvv
   "Prints debug logging with level 4 (-vvvv)"
   [& xs]
-  `(when (LogLevel/isLogLevelEnabled 4)
+  `(when (<= 4 *log-level*)
      (binding [*out* *debug-out*]
        (log nil "DEBUG" ~(vec xs)))))
 
 (defmacro vvvvv
   "Prints debug logging with level 5 (-vvvvv)"
   [& xs]
-  `(when (LogLevel/isLogLevelEnabled 5)
+  `(when (<= 5 *log-level*)
      (binding [*out* *debug-out*]
        (log nil "DEBUG" ~(vec xs)))))
 
 (defmacro timed
   "Prints timing information of the given operation"
   [operation & body]
-  `(if (LogLevel/isLogLevelEnabled 3)
+  `(if (<= 3 *log-level*)
      (let [op# ~operation]
        (vvv "start " op# "...")
        (let [start# (System/nanoTime)
@@ -2,15 +2,21 @@
   (:require [clojure.tools.cli :as cli]
             [clojure.java.io :as io]
             [cognitect.transit :as transit]
+            [imo.bench :as bench]
             [imo.core :as imo]
+            [imo.formatter :as formatter]
+            [imo.git :as git]
             [imo.glob :as glob]
             [imo.logger :refer [v vv warn] :as logger]
+            [imo.watch :as watch]
             [imo.config :as config]
             [clojure.string :as string]
             [clojure.edn :as edn]
             [clojure.spec.alpha :as s])
   (:import (java.io File ByteArrayInputStream Closeable)
            (imo ImoException)
+           (java.nio.file FileAlreadyExistsException Files Path)
+           (java.nio.file.attribute FileAttribute)
            (java.security MessageDigest)
            (java.util Map))
   (:gen-class))
@@ -29,11 +35,44 @@
    [nil "--config-edn EDN" "Overrides to the configuration with EDN string"]
    [nil "--check" "Check mode -- check that files are formatted and report unformatted files"]
    [nil "--show-diff" "Show visual diff between actual and expected formatting (in check mode only)"]
+   [nil "--diff-limit N" "Maximum number of changed lines shown in diff per file (in check mode only)"
+    :parse-fn #(Integer/parseInt %)
+    :validate [pos? "Must be a positive integer"]]
+   [nil "--fail-fast" "Stop checking at the first unformatted file (in check mode only)"]
+   [nil "--changed-since REF" "Process only files changed since the given git ref (including untracked files)"]
+   [nil "--staged" "Process only files staged in git, using their staged contents"]
+   [nil "--gitignore" "Skip files and directories ignored by .gitignore files"]
+   [nil "--watch" "Keep running and re-process the matching files when they change"]
+   [nil "--report-slowest N" "Report N slowest top-level forms after formatting or checking"
+    :parse-fn #(Integer/parseInt %)
+    :validate [pos? "Must be a positive integer"]]
    ["-v" nil "Increment verbosity level (-v or -vv or -vvv)"
     :id :verbosity
     :default 0
     :update-fn inc]])
 
+(def ^:private bench-cli-options
+  [["-h" "--help" "Show help"]
+   ["-c" "--config-file FILE" "Path to configuration file, defaults to imo.edn"]
+   [nil "--config-edn EDN" "Overrides to the configuration with EDN string"]
+   [nil "--gitignore" "Skip files and directories ignored by .gitignore files"]
+   [nil "--warmup N" "Warmup iterations"
+    :default 3
+    :parse-fn #(Integer/parseInt %)
+    :validate [nat-int? "Must be a non-negative integer"]]
+   [nil "--iterations N" "Measured iterations"
+    :default 10
+    :parse-fn #(Integer/parseInt %)
+    :validate [pos? "Must be a positive integer"]]
+   [nil "--json FILE" "Write the benchmark report to the given file as JSON"]
+   ["-v" nil "Increment verbosity level (-v or -vv or -vvv)"
+    :id :verbosity
+    :default 0
+    :update-fn inc]])
+
+(defn- bench-command? [args]
+  (= "bench" (first args)))
+
 (defn- exit [code]
   (if *exit-jvm*
     (do (shutdown-agents)
@@ -49,6 +88,13 @@
 (defn- print-help [opts-summary]
   (println "Usage: imo [options ...] files...     format specified files in-place")
   (println "   or: imo [options ...] -            read contents from stdin and print formatted content to stdout")
+  (println "   or: imo bench [options ...] files...  measure imo performance with specified files, see imo bench --help")
+  (println "")
+  (println "Options:")
+  (println opts-summary))
+
+(defn- print-bench-help [opts-summary]
+  (println "Usage: imo bench [options ...] files...   measure reading, analysis and formatting of specified files")
   (println "")
   (println "Options:")
   (println opts-summary))
@@ -103,6 +149,7 @@
     ICache
     (cached? [_ _ _] false)
     (cache! [_ _ _] nil)
+    (write-to-disk! [_] nil)
     Closeable
     (close [_])))
 
@@ -124,19 +171,64 @@
       (let [checksum (md5 contents)
             path (.getAbsolutePath ^File source-file)]
         (swap! checksums assoc path checksum))))
+  (write-to-disk! [_]
+    (try
+      (vv "writing cache file to disk: " (.getPath cache-file))
+      (-> (.getParentFile cache-file)
+          (.mkdirs))
+      (with-open [os (io/output-stream cache-file)]
+        (let [contents {:version cache-file-version :checksums @checksums}
+              writer (transit/writer os :json)]
+          (transit/write writer contents)))
+      (catch Exception ex
+        (warn nil "cache file writing failed: " (.getMessage ^Exception ex)))))
   Closeable
-  (close [_]
+  (close [this]
     (when write-at-close?
+      (write-to-disk! this))))
+
+(defn- sha256 [^String s]
+  (let [algorithm (MessageDigest/getInstance "SHA-256")
+        raw (.digest algorithm (.getBytes s "UTF-8"))]
+    (format "%064x" (BigInteger. 1 raw))))
+
+(defn- config-fingerprint
+  "Returns hash of imo version and the config options that affect the
+   formatting result. Map keys are sorted so that the fingerprint does
+   not depend on the order in which the config was built."
+  [config]
+  (let [canonical (fn canonical [x]
+                    (if (map? x)
+                      (into (sorted-map-by #(compare (pr-str %1) (pr-str %2)))
+                            (map (fn [[k v]] [k (canonical v)]))
+                            x)
+                      x))]
+    (sha256 (str cache-file-version "\n" (pr-str (canonical (dissoc config :cache)))))))
+
+;; Content addressed cache stores an empty marker file for every formatted
+;; content, keyed by hash of the contents and config fingerprint. Markers are
+;; independent of file paths, so the cache directory can be shared between
+;; checkouts and machines (e.g. as a CI cache), and concurrent processes can
+;; use the same directory because markers are created atomically and never
+;; modified.
+(defrecord ContentCache [^File dir ^String fingerprint]
+  ICache
+  (cached? [_ _ contents]
+    (let [key (sha256 (str fingerprint contents))]
+      (.isFile (io/file dir (subs key 0 2) (subs key 2)))))
+  (cache! [_ _ contents]
+    (let [key (sha256 (str fingerprint contents))
+          marker (io/file dir (subs key 0 2) (subs key 2))]
       (try
-        (vv "writing cache file to disk: " (.getPath cache-file))
-        (-> (.getParentFile cache-file)
-            (.mkdirs))
-        (with-open [os (io/output-stream cache-file)]
-          (let [contents {:version cache-file-version :checksums @checksums}
-                writer (transit/writer os :json)]
-            (transit/write writer contents)))
+        (Files/createDirectories (.toPath (.getParentFile marker)) (make-array FileAttribute 0))
+        (Files/createFile (.toPath marker) (make-array FileAttribute 0))
+        (catch FileAlreadyExistsException _
+          nil)
         (catch Exception ex
-          (warn nil "cache file writing failed: " (.getMessage ^Exception ex)))))))
+          (warn nil "cache marker writing failed: " (.getMessage ^Exception ex))))))
+  (write-to-disk! [_] nil)
+  Closeable
+  (close [_]))
 
 (defn- check-cache-file-contents [spec contents filename]
   (when-not (s/valid? spec contents)
@@ -161,27 +253,47 @@
       (throw (imo-ex [(str "Cache file load failure: " (.getMessage ^Exception ex))])))))
 
 (defn- open-cache [config write-at-close?]
-  (if-let [cache-filename (:cache config)]
-    (load-cache cache-filename write-at-close?)
-    noop-cache))
+  (let [cache (:cache config)]
+    (cond
+      (map? cache) (do (vv "using content cache directory: " (:dir cache))
+                       (->ContentCache (io/file (:dir cache)) (config-fingerprint config)))
+      (string? cache) (load-cache cache write-at-close?)
+      :else noop-cache)))
 
 ; Input/output
 
-(defn- abs-path [^File file]
-  (.getAbsolutePath file))
-
-(defn- parse-files-seq [globs]
-  (if (= ["-"] globs)
+(defn- split-globs [globs]
+  [(remove #(string/starts-with? % "!") globs)
+   (->> (filter #(string/starts-with? % "!") globs)
+        (map #(subs % 1)))])
+
+(defn- parse-git-files-seq
+  "Returns files reported by git, filtered by the given globs. If no
+   include globs are given, all reported Clojure source files are returned."
+  [globs {:keys [changed-since staged]}]
+  (when (and changed-since staged)
+    (throw (imo-ex ["--changed-since and --staged can't be used together"])))
+  (when (= ["-"] globs)
+    (throw (imo-ex ["Reading from stdin can't be used with --changed-since or --staged"])))
+  (let [[includes excludes] (split-globs globs)
+        matches? (glob/file-matcher (if (seq includes) includes ["**/*.{clj,cljs,cljc}"]) excludes)
+        files (if staged
+                (git/staged-files)
+                (git/changed-files changed-since))]
+    [(filter #(matches? (io/file %)) files) false]))
+
+(defn- parse-files-seq [globs {:keys [gitignore changed-since staged] :as opts}]
+  (cond
+    (or changed-since staged)
+    (parse-git-files-seq globs opts)
+
+    (= ["-"] globs)
     [[] true]
-    (let [includes (->> (remove #(string/starts-with? % "!") globs)
-                        (mapcat glob/files))
-          excludes (->> (filter #(string/starts-with? % "!") globs)
-                        (mapcat #(glob/files (subs % 1))))
-          files (->> (map #(vector (abs-path %) %) includes)
-                     (remove (comp (set (map abs-path excludes)) first))
-                     (group-by first)
-                     (sort-by first)
-                     (map (comp second first second))
+
+    :else
+    (let [[includes excludes] (split-globs globs)
+          files (->> (glob/find-files includes excludes {:gitignore? (boolean gitignore)
+                                                         :parallel?  true})
                      (filter #(and (.exists ^File %)
                                    (.isFile ^File %))))]
       (when (empty? files)
@@ -193,24 +305,59 @@
        (imo/analyze config)
        (imo/format config)))
 
-(defn- format-files! [config inputs+outputs]
+(defn- formatted-source? [config src-in]
+  (->> (imo/read src-in)
+       (imo/analyze config)
+       (#(imo/formatted? config % src-in))))
+
+; Profiling
+
+(defn- with-form-stats
+  "Runs `f` and collects statistics of its formatted top-level forms
+   to `form-stats` atom, if given"
+  [form-stats path f]
+  (if (some? form-stats)
+    (let [file-stats (atom [])
+          result (binding [formatter/*form-stats* file-stats]
+                   (f))]
+      (swap! form-stats into (map #(assoc % :file path)) @file-stats)
+      result)
+    (f)))
+
+(defn- print-slowest-forms [form-stats n]
+  (let [slowest (->> (sort-by :time-ns > form-stats)
+                     (take n))]
+    (print-out "\nSlowest top-level forms:\n")
+    (doseq [{:keys [file line head resolve-as outer-length time-ns invocations]} slowest]
+      (print-out
+        (format "%10.2f ms  %s:%s  %s%s  length: %d, invocations: %d\n"
+                (/ time-ns 1000000.0)
+                file
+                line
+                (or head "-")
+                (if (and resolve-as (not= (str resolve-as) head))
+                  (str " (" resolve-as ")")
+                  "")
+                outer-length
+                invocations)))))
+
+(defn- format-files! [config cache inputs+outputs form-stats]
   (let [n-total (count inputs+outputs)
         n-cached (atom 0)
         n-changed (atom 0)
         start-t (System/nanoTime)]
-    (with-open [cache ^Closeable (open-cache config true)]
-      (doseq [[in out name path] inputs+outputs]
-        (binding [logger/*current-file* name]
-          (v "format file " path)
-          (let [src-in (slurp in)]
-            (if (cached? cache in src-in)
-              (do (v "found from cached, skipping")
-                  (swap! n-cached inc))
-              (let [src-out (format-source config src-in)]
-                (when-not (= src-out src-in)
-                  (spit out src-out)
-                  (swap! n-changed inc))
-                (cache! cache out src-out)))))))
+    (doseq [[in out name path] inputs+outputs]
+      (binding [logger/*current-file* name]
+        (v "format file " path)
+        (let [src-in (slurp in)]
+          (if (cached? cache in src-in)
+            (do (v "found from cached, skipping")
+                (swap! n-cached inc))
+            (let [src-out (with-form-stats form-stats path #(format-source config src-in))]
+              (when-not (= src-out src-in)
+                (spit out src-out)
+                (swap! n-changed inc))
+              (cache! cache out src-out))))))
     (print-out
       (format "Formatting ready, took %.2f secs" (/ (- (System/nanoTime) start-t) 1000000000.0))
       " ✨"
@@ -220,36 +367,100 @@
       "\n")
     0))
 
-(defn- check-files! [config inputs+outputs show-diff?]
-  (let [n-total (count inputs+outputs)
+(defn- check-files! [config cache inputs+outputs {:keys [show-diff? diff-limit fail-fast?]} form-stats]
+  (let [n-checked (atom 0)
         n-failed (atom 0)
         n-cached (atom 0)
         start-t (System/nanoTime)]
-    (with-open [cache ^Closeable (open-cache config false)]
-      (doseq [[in _ name path] inputs+outputs]
-        (binding [logger/*current-file* name]
-          (v "check file " path)
-          (let [src-in (slurp in)]
-            (if (cached? cache in src-in)
-              (do (v "found from cached, skipping")
-                  (swap! n-cached inc))
-              (let [src-out (format-source config src-in)
-                    failed? (not= src-in src-out)]
-                (when failed?
-                  (binding [*out* *err*]
-                    (println (str "ERROR " name ": check failed"))
-                    (when show-diff?
-                      (println (imo/diff src-out src-in))))
-                  (swap! n-failed inc))))))))
+    (doseq [[in _ name path] inputs+outputs
+            :while (not (and fail-fast? (pos? @n-failed)))]
+      (binding [logger/*current-file* name]
+        (v "check file " path)
+        (swap! n-checked inc)
+        (let [src-in (slurp in)]
+          (if (cached? cache in src-in)
+            (do (v "found from cached, skipping")
+                (swap! n-cached inc))
+            (let [src-out (when show-diff?
+                            (with-form-stats form-stats path #(format-source config src-in)))
+                  failed? (if show-diff?
+                            (not= src-in src-out)
+                            (not (with-form-stats form-stats path #(formatted-source? config src-in))))]
+              (when-not failed?
+                (cache! cache in src-in))
+              (when failed?
+                (binding [*out* *err*]
+                  (println (str "ERROR " name ": check failed"))
+                  (when show-diff?
+                    (imo/print-diff src-out src-in {:max-lines diff-limit})
+                    (flush)))
+                (swap! n-failed inc)))))))
     (print-out
       (format "Check ready, took %.2f secs" (/ (- (System/nanoTime) start-t) 1000000000.0))
       " \uD83D\uDD0E"
-      "\nchecked files: " n-total
+      "\nchecked files: " @n-checked
       "\n       cached: " @n-cached
       "\n     failures: " @n-failed
       "\n")
     @n-failed))
 
+(defn- file-inputs+outputs [files]
+  (map #(let [f (io/file %)]
+          [% % (.getName f) (.getPath f)])
+       files))
+
+; Watch mode
+
+(def ^:private ^:const watch-debounce-ms 100)
+
+(defn- watch-files!
+  "Keeps the JVM (and its JIT compiled formatter) warm and re-processes
+   the changed files that match the given globs with `process-files!`
+   until the process is interrupted. Files formatted by imo itself are
+   found from the cache so they don't trigger re-formatting."
+  [globs {:keys [gitignore]} process-files!]
+  (let [[includes excludes] (split-globs globs)
+        matches? (glob/file-matcher includes excludes {:gitignore? (boolean gitignore)})
+        watch-dir? (glob/dir-matcher includes excludes {:gitignore? (boolean gitignore)})
+        cwd (.toPath (.getAbsoluteFile (io/file "")))]
+    (print-out "\nWatching for changes, press Ctrl+C to stop\n")
+    (watch/watch-files!
+      (glob/base-dirs includes)
+      watch-dir?
+      watch-debounce-ms
+      (fn [files]
+        (when-let [files (seq (filter matches? files))]
+          (try
+            (process-files! (file-inputs+outputs (map #(.toFile (.relativize ^Path cwd (.toPath ^File %))) files)))
+            (catch ImoException ex
+              (binding [*out* *err*]
+                (println (.getMessage ex))))))))
+    0))
+
+; Benchmark
+
+(defn- bench-files!
+  "Loads the files matching the given globs into memory and runs the
+   benchmark with them. Files are not modified."
+  [globs options]
+  (when (or (empty? globs) (= ["-"] globs))
+    (throw (imo-ex ["Benchmark requires at least one file glob"])))
+  (let [[files _] (parse-files-seq globs options)
+        config (load-config options)
+        sources (mapv #(vector (str %) (slurp %)) files)]
+    (when (empty? sources)
+      (throw (imo-ex ["No files matched the given globs"])))
+    (binding [logger/*log-level* (get options :verbosity 0)
+              logger/*debug-out* *err*]
+      (let [report (bench/run-bench config sources {:warmup     (:warmup options)
+                                                    :iterations (:iterations options)
+                                                    :progress   #(v %)})]
+        (bench/print-report report)
+        (when-let [json-file (:json options)]
+          (bench/write-json-report report json-file)
+          (println (str "\nReport written to " json-file)))
+        0))))
+
 ; Entrypoint
 
 (defn -main
@@ -259,28 +470,55 @@
     (let [{:keys [options
                   arguments
                   summary
-                  errors]} (cli/parse-opts args cli-options)]
+                  errors]} (cli/parse-opts args (if (bench-command? args) bench-cli-options cli-options))]
       (cond
         (:help options)
-        (print-help summary)
+        (if (bench-command? args)
+          (print-bench-help summary)
+          (print-help summary))
 
         (seq errors)
         (throw (imo-ex errors))
 
+        (bench-command? args)
+        (exit (bench-files! (rest arguments) options))
+
         :else
-        (-> (let [[files stdin?] (parse-files-seq arguments)
+        (-> (let [_ (when (and (:watch options)
+                                   (or (= ["-"] arguments) (:staged options) (:changed-since options)))
+                          (throw (imo-ex ["--watch can't be used with stdin, --staged or --changed-since"])))
+                  [files stdin?] (parse-files-seq arguments options)
                   config (load-config options)
                   inputs+outputs (if-not stdin?
-                                   (map #(do [% % (.getName ^File %) (.getPath ^File %)]) files)
+                                   (file-inputs+outputs files)
                                    [[*in* *out* "STDIN" "STDIN"]])
                   log-level (get options :verbosity 0)
-                  check-mode? (true? (get options :check))]
-              (logger/set-log-level! log-level)
-              (binding [logger/*debug-out* (if stdin? *err* *out*)]
+                  check-mode? (true? (get options :check))
+                  check-opts {:show-diff? (boolean (:show-diff options))
+                              :diff-limit (:diff-limit options 1000)
+                              :fail-fast? (boolean (:fail-fast options))}
+                  report-slowest (:report-slowest options)
+                  form-stats (when report-slowest (atom []))]
+              (binding [logger/*log-level* log-level
+                        logger/*debug-out* (if stdin? *err* *out*)]
                 (vv "using config: " config)
-                (if check-mode?
-                  (check-files! config inputs+outputs (boolean (:show-diff options)))
-                  (format-files! config inputs+outputs))))
+                (with-open [cache ^Closeable (open-cache config (not check-mode?))]
+                  (let [process-files! (fn [inputs+outputs]
+                                         (when form-stats
+                                           (reset! form-stats []))
+                                         (let [result (if check-mode?
+                                                        (check-files! config cache inputs+outputs check-opts form-stats)
+                                                        (format-files! config cache inputs+outputs form-stats))]
+                                           (when form-stats
+                                             (print-slowest-forms @form-stats report-slowest))
+                                           result))
+                        result (process-files! inputs+outputs)]
+                    (if (:watch options)
+                      (watch-files! arguments options (fn [inputs+outputs]
+                                                        (process-files! inputs+outputs)
+                                                        (when-not check-mode?
+                                                          (write-to-disk! cache))))
+                      result)))))
             (exit))))
     (catch ImoException ex
       (binding [*out* *err*]
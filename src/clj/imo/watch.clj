@@ -0,0 +1,90 @@
+(ns imo.watch
+  (:require [imo.logger :refer [vv vvv]])
+  (:import (java.io File)
+           (java.nio.file ClosedWatchServiceException FileSystems FileVisitResult FileVisitor Files LinkOption Path StandardWatchEventKinds WatchEvent WatchEvent$Kind WatchKey WatchService)
+           (java.util ArrayList HashMap)
+           (java.util.concurrent TimeUnit)))
+
+(def ^:private watched-event-kinds
+  (into-array WatchEvent$Kind [StandardWatchEventKinds/ENTRY_CREATE
+                               StandardWatchEventKinds/ENTRY_MODIFY]))
+
+(defn- register-tree!
+  "Registers the directory and its sub-directories accepted by
+   `watch-dir?` to the watch service. Directories are registered before
+   their contents are walked so that no new files are missed. Returns
+   [keys files] where `keys` is a map of watch keys to the registered
+   directories and `files` are the files inside them."
+  [^WatchService ws ^Path dir watch-dir?]
+  (let [keys (HashMap.)
+        files (ArrayList.)]
+    (Files/walkFileTree
+      dir
+      (reify FileVisitor
+        (preVisitDirectory [_ d _]
+          (if (watch-dir? (.toFile ^Path d))
+            (do (vvv "watching directory " d)
+                (.put keys (.register ^Path d ws watched-event-kinds) d)
+                FileVisitResult/CONTINUE)
+            FileVisitResult/SKIP_SUBTREE))
+        (visitFile [_ f _]
+          (.add files f)
+          FileVisitResult/CONTINUE)
+        (visitFileFailed [_ _ _]
+          FileVisitResult/CONTINUE)
+        (postVisitDirectory [_ _ _]
+          FileVisitResult/CONTINUE)))
+    [(into {} keys) (vec files)]))
+
+(defn- poll-events
+  "Returns [changed-paths new-dirs] of the events of the given key and
+   resets the key"
+  [^WatchKey key ^Path dir]
+  (let [paths (->> (.pollEvents key)
+                   (keep (fn [^WatchEvent event]
+                           (when-let [ctx (.context event)]
+                             (.resolve dir ^Path ctx))))
+                   (vec))]
+    (.reset key)
+    [(remove #(Files/isDirectory ^Path % (make-array LinkOption 0)) paths)
+     (filter #(Files/isDirectory ^Path % (make-array LinkOption 0)) paths)]))
+
+(defn watch-files!
+  "Watches the given directories recursively and calls `on-change` with
+   the changed files (`java.io.File`) once no more changes have been
+   received during `debounce-ms`. Sub-directories (`java.io.File`)
+   rejected by `watch-dir?` are not watched. Blocks until the current
+   thread is interrupted."
+  [dirs watch-dir? ^long debounce-ms on-change]
+  (with-open [ws (.newWatchService (FileSystems/getDefault))]
+    (loop [keys (into {} (map #(first (register-tree! ws (.toPath ^File %) watch-dir?))) dirs)]
+      (let [^WatchKey first-key (try
+                                  (.take ws)
+                                  (catch InterruptedException _ nil)
+                                  (catch ClosedWatchServiceException _ nil))]
+        (when first-key
+          ;; Collect events until the changes settle down: editors often
+          ;; write files with several operations
+          (let [[keys changed]
+                (loop [^WatchKey key first-key
+                       keys keys
+                       changed #{}]
+                  (if key
+                    (let [[paths new-dirs] (if-let [dir (get keys key)]
+                                             (poll-events key dir)
+                                             [[] []])
+                          ;; files created together with the new directories
+                          ;; are not reported by the watch service
+                          trees (mapv #(register-tree! ws % watch-dir?) new-dirs)
+                          keys (reduce #(merge %1 (first %2)) keys trees)
+                          paths (concat paths (mapcat second trees))]
+                      (recur (.poll ws debounce-ms TimeUnit/MILLISECONDS)
+                             keys
+                             (into changed (map #(.toFile ^Path %)) paths)))
+                    [keys changed]))
+                files (filter #(.isFile ^File %) changed)]
+            (vv "detected changes in " (count changed) " files")
+            (when (seq files)
+              (on-change (sort files)))
+            (when-not (.isInterrupted (Thread/currentThread))
+              (recur keys))))))))
@@ -106,12 +106,35 @@ public final class AstNode {
   }
 
   public static AstNode createString(int line, int col, String content) {
-    // todo: string stats here, line break as well!
-    return new AstNode(line, col, STRING, List.of(content), content.length(), 0);
+    return createText(line, col, STRING, content);
   }
 
   public static AstNode createRegex(int line, int col, String content) {
-    return new AstNode(line, col, REGEX, List.of(content), content.length(), 0);
+    return createText(line, col, REGEX, content);
+  }
+
+  private static AstNode createText(int line, int col, Keyword type, String content) {
+    int lineStart = 0;
+    int lines = 0;
+    int firstLineLength = -1;
+    int maxLineLength = 0;
+    for (int i = content.indexOf('\n'); i != -1; i = content.indexOf('\n', lineStart)) {
+      int lineLength = i - lineStart;
+      if (firstLineLength == -1) {
+        firstLineLength = lineLength;
+      }
+      maxLineLength = Math.max(maxLineLength, lineLength);
+      lineStart = i + 1;
+      lines++;
+    }
+    AstNode node = new AstNode(line, col, type, List.of(content), content.length(), lines);
+    if (lines > 0) {
+      int lastLineLength = content.length() - lineStart;
+      node.firstLineLength = firstLineLength;
+      node.lastLineLength = lastLineLength;
+      node.maxLineLength = Math.max(maxLineLength, lastLineLength);
+    }
+    return node;
   }
 
   public static AstNode createNil(int line, int col) {
@@ -190,6 +213,15 @@ public final class AstNode {
   public List<AstNode> pre;
   public List<AstNode> post;
   public List<AstNode> metaChildren;
+  // Character offsets of the node in the source, excluding pre and post
+  // meta nodes. -1 if the offsets are not known.
+  public int start = -1;
+  public int end = -1;
+  // Line statistics of multi-line strings and regexes, -1 for
+  // other nodes
+  public int firstLineLength = -1;
+  public int lastLineLength = -1;
+  public int maxLineLength = -1;
 
   public AstNode(int line, int col, Keyword type, List<?> children, int selfLength, int selfLines) {
     this.line = line;
@@ -210,13 +242,37 @@ public final class AstNode {
   }
 
   public PersistentVector toVec() {
+    return toVec(null);
+  }
+
+  /**
+   * Creates root node vector from already converted top-level forms and
+   * post nodes, calculating the statistics the same way as `toVec`
+   */
+  static PersistentVector createRootVec(List<PersistentVector> forms, List<PersistentVector> post, int length) {
+    AstNode root = new AstNode(1, 1, ROOT, forms, 0, 0);
+    root.start = 0;
+    root.end = length;
+    return root.toVec(forms, post);
+  }
+
+  /**
+   * Converts the node into vector form using the given already
+   * converted child vectors (in children order), if given
+   */
+  PersistentVector toVec(List<PersistentVector> childVecs) {
+    return toVec(childVecs, null);
+  }
+
+  private PersistentVector toVec(List<PersistentVector> childVecs, List<PersistentVector> postVecs) {
     ITransientCollection vec = PersistentVector.EMPTY.asTransient();
     int innerLength = selfLength + Math.max(0, children.size() - 1);
     int innerLines = selfLines;
     vec = vec.conj(type);
+    int i = 0;
     for (Object child : children) {
-      if (child instanceof AstNode) {
-        PersistentVector childVec = ((AstNode) child).toVec();
+      if (child instanceof AstNode || childVecs != null) {
+        PersistentVector childVec = childVecs != null ? childVecs.get(i) : ((AstNode) child).toVec();
         IPersistentMap childMeta = childVec.meta();
         innerLength += (Integer) childMeta.valAt(OUTER_LENGTH);
         innerLines += (Integer) childMeta.valAt(OUTER_LINES);
@@ -224,6 +280,7 @@ public final class AstNode {
       } else {
         vec = vec.conj(child);
       }
+      i++;
     }
 
     ITransientMap meta = PersistentArrayMap.EMPTY
@@ -235,10 +292,21 @@ public final class AstNode {
         .assoc(OUTER_LENGTH, innerLength)
         .assoc(INNER_LINES, innerLines)
         .assoc(OUTER_LINES, innerLines);
+    if (start >= 0 && end >= 0) {
+      meta = meta.assoc(START, start).assoc(END, end);
+    }
+    if (firstLineLength >= 0) {
+      meta = meta
+          .assoc(FIRST_LINE_LENGTH, firstLineLength)
+          .assoc(LAST_LINE_LENGTH, lastLineLength)
+          .assoc(MAX_LINE_LENGTH, maxLineLength);
+    }
 
     meta = assocNodes(meta, PRE, pre, true, false);
     meta = assocNodes(meta, CHILDREN, metaChildren, children.size() > 0, true);
-    meta = assocNodes(meta, POST, post, true, false);
+    meta = postVecs != null
+        ? assocNodeVecs(meta, POST, postVecs, true, false)
+        : assocNodes(meta, POST, post, true, false);
     return ((PersistentVector) vec.persistent()).withMeta(meta.persistent());
   }
 
@@ -264,11 +332,22 @@ public final class AstNode {
 
   private static ITransientMap assocNodes(ITransientMap meta, Keyword key, List<AstNode> nodes, boolean needsSpace, boolean isInner) {
     if (nodes != null && !nodes.isEmpty()) {
+      List<PersistentVector> vecs = new ArrayList<>(nodes.size());
+      for (AstNode node : nodes) {
+        vecs.add(node.toVec());
+      }
+      return assocNodeVecs(meta, key, vecs, needsSpace, isInner);
+    } else {
+      return meta;
+    }
+  }
+
+  private static ITransientMap assocNodeVecs(ITransientMap meta, Keyword key, List<PersistentVector> vecs, boolean needsSpace, boolean isInner) {
+    if (!vecs.isEmpty()) {
       ITransientCollection res = PersistentVector.EMPTY.asTransient();
       int lines = 0;
       int length = 0;
-      for (AstNode node : nodes) {
-        PersistentVector vec = node.toVec();
+      for (PersistentVector vec : vecs) {
         IPersistentMap m = vec.meta();
         lines += (Integer) m.valAt(OUTER_LINES);
         length += (Integer) m.valAt(OUTER_LENGTH);
@@ -0,0 +1,109 @@
+package imo;
+
+import clojure.java.api.Clojure;
+import clojure.lang.IFn;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Java API for embedding imo. Formatter instances are immutable and
+ * can be shared between threads: the configuration is built once
+ * when the formatter is created and imo namespaces (including the
+ * form analyzers) are loaded once per JVM when this class is
+ * initialized.
+ */
+public final class Formatter {
+  private static final IFn BUILD_CONFIG;
+  private static final IFn FORMAT;
+  private static final IFn FORMATTED;
+
+  static {
+    IFn require = Clojure.var("clojure.core", "require");
+    require.invoke(Clojure.read("imo.api"));
+    BUILD_CONFIG = Clojure.var("imo.api", "build-config");
+    FORMAT = Clojure.var("imo.api", "format-source");
+    FORMATTED = Clojure.var("imo.api", "formatted?");
+  }
+
+  private final Object config;
+
+  private Formatter(Object config) {
+    this.config = config;
+  }
+
+  /**
+   * Creates a formatter using the default configuration
+   */
+  public static Formatter create() {
+    return create(null);
+  }
+
+  /**
+   * Creates a formatter from the given configuration EDN string,
+   * e.g. <code>{:width 100}</code>. Options are merged on top of
+   * the defaults. Throws {@link ImoException} if the config is invalid.
+   */
+  public static Formatter create(String configEdn) {
+    return new Formatter(BUILD_CONFIG.invoke(configEdn));
+  }
+
+  /**
+   * Formats the given source and returns the formatted source
+   */
+  public String format(String source) {
+    return format(source, null);
+  }
+
+  /**
+   * Formats the given source and returns the formatted source. The given
+   * name is used to identify the source in warnings.
+   */
+  public String format(String source, String name) {
+    return (String) FORMAT.invoke(config, name, source);
+  }
+
+  /**
+   * Reads the source from the given reader and writes the formatted
+   * source to the given writer. Neither of the streams is closed.
+   */
+  public void format(Reader in, Writer out) throws IOException {
+    out.write(format(readAll(in)));
+    out.flush();
+  }
+
+  /**
+   * Returns true if the given source is already formatted. The check
+   * stops at the first mismatching top level form.
+   */
+  public boolean check(String source) {
+    return check(source, null);
+  }
+
+  /**
+   * Returns true if the given source is already formatted. The given
+   * name is used to identify the source in warnings.
+   */
+  public boolean check(String source, String name) {
+    return (Boolean) FORMATTED.invoke(config, name, source);
+  }
+
+  /**
+   * Returns true if the source read from the given reader is already
+   * formatted. The reader is not closed.
+   */
+  public boolean check(Reader in) throws IOException {
+    return check(readAll(in));
+  }
+
+  private static String readAll(Reader in) throws IOException {
+    StringBuilder sb = new StringBuilder();
+    char[] buf = new char[8192];
+    int n;
+    while ((n = in.read(buf)) != -1) {
+      sb.append(buf, 0, n);
+    }
+    return sb.toString();
+  }
+}
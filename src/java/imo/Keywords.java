@@ -46,4 +46,10 @@ public interface Keywords {
   Keyword OUTER_LINES = Keyword.intern("outer-lines");
   Keyword PRE = Keyword.intern("pre");
   Keyword POST = Keyword.intern("post");
+  Keyword FIRST_LINE_LENGTH = Keyword.intern("first-line-length");
+  Keyword LAST_LINE_LENGTH = Keyword.intern("last-line-length");
+  Keyword MAX_LINE_LENGTH = Keyword.intern("max-line-length");
+  Keyword START = Keyword.intern("start");
+  Keyword END = Keyword.intern("end");
+  Keyword SOURCE = Keyword.intern("source");
 }
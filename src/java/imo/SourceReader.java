@@ -1,12 +1,19 @@
 package imo;
 
+import clojure.lang.IPersistentMap;
+import clojure.lang.ISeq;
+import clojure.lang.ITransientCollection;
 import clojure.lang.Keyword;
 import clojure.lang.PersistentVector;
+import clojure.lang.RT;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Stack;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -21,10 +28,539 @@ public class SourceReader {
   private static Pattern RATIO_PAT = Pattern.compile("([-+]?[0-9]+)/([0-9]+)");
   private static Pattern FLOAT_PAT = Pattern.compile("([-+]?[0-9]+(\\.[0-9]*)?([eE][-+]?[0-9]+)?)(M)?");
   private static Keyword END_OF_COLL = Keyword.intern("*end-of-coll*");
+  // Sources shorter than this are always read sequentially
+  private static final int PARALLEL_READ_MIN_LENGTH = 131072;
+  private static final int PARALLEL_READ_MIN_CHUNK_LENGTH = 32768;
 
   public static PersistentVector readAst(String source, int tabSize) {
-    source = source.replaceAll("(\n|\r\n|\r)", "\n");
-    return new SourceReader(source, tabSize).readRoot().toVec();
+    source = normalizeNewlines(source);
+    int processors = Runtime.getRuntime().availableProcessors();
+    int chunkLength = processors > 1 && source.length() >= PARALLEL_READ_MIN_LENGTH
+        ? Math.max(PARALLEL_READ_MIN_CHUNK_LENGTH, source.length() / (4 * processors))
+        : 0;
+    return readNormalized(source, tabSize, chunkLength);
+  }
+
+  /**
+   * Reads the source in chunks of (approximately) the given length in
+   * parallel. Chunks are split only at top-level form boundaries so the
+   * result is identical to the sequential reading. Non-positive chunk
+   * length reads the source sequentially.
+   */
+  public static PersistentVector readAst(String source, int tabSize, int chunkLength) {
+    return readNormalized(normalizeNewlines(source), tabSize, chunkLength);
+  }
+
+  /**
+   * Reads the source of the previous root after replacing `removedLength`
+   * characters at `offset` with the `inserted` text. Only the top-level
+   * forms touched by the edit are read again: the forms before the edit
+   * are reused as they are and the forms after it are reused with their
+   * positions shifted, so the returned root shares structure with the
+   * previous root. The result is identical to reading the edited source
+   * from scratch.
+   */
+  public static PersistentVector readEdited(PersistentVector prevRoot, int offset, int removedLength, String inserted, int tabSize) {
+    String prevSource = (String) prevRoot.meta().valAt(SOURCE);
+    if (offset < 0 || removedLength < 0 || offset + removedLength > prevSource.length()) {
+      throw new IllegalArgumentException("Edit is out of source bounds");
+    }
+    inserted = normalizeNewlines(inserted);
+    String source = prevSource.substring(0, offset) + inserted + prevSource.substring(offset + removedLength);
+    int editEnd = offset + removedLength;
+    int shift = inserted.length() - removedLength;
+    int numForms = prevRoot.count() - 1;
+
+    // Reuse the forms before the last top-level boundary preceding the edit
+    int numPrefixForms = 0;
+    int readStart = 0;
+    int readLine = 1;
+    for (int k = lastFormEndingBefore(prevRoot, offset); k >= 1; k--) {
+      PersistentVector form = (PersistentVector) prevRoot.nth(k);
+      int boundary = boundaryAfter(form);
+      if (boundary >= 0 && boundary <= offset) {
+        numPrefixForms = k;
+        readStart = boundary;
+        readLine = lineAfter(form);
+        break;
+      }
+    }
+
+    // Read until the first boundary after the edit where the edited source
+    // is at the top-level as well, so that the rest of the forms can be reused.
+    // The boundary must also be a line start in the edited source: the reader
+    // starts the reused forms from column 1 with no pending meta nodes
+    TopLevelScanner scanner = new TopLevelScanner(source, readStart);
+    for (int j = numPrefixForms + 1; j <= numForms; j++) {
+      int boundary = boundaryAfter((PersistentVector) prevRoot.nth(j));
+      if (boundary < editEnd) {
+        continue;
+      }
+      int readEnd = boundary + shift;
+      if (readEnd > readStart && source.charAt(readEnd - 1) != '\n') {
+        continue;
+      }
+      if (scanner.scanTo(readEnd)) {
+        AstNode chunk;
+        try {
+          chunk = new SourceReader(source, tabSize, readStart, readEnd, readLine).readRoot();
+        } catch (ReaderException ex) {
+          // read the rest of the source to get the same error as a full read
+          break;
+        }
+        List<PersistentVector> forms = formsBefore(prevRoot, numPrefixForms, chunk);
+        boolean lineStart = readEnd == readStart
+            || (!forms.isEmpty() && boundaryAfter(forms.get(forms.size() - 1)) == readEnd);
+        if (chunk.post == null && lineStart) {
+          PersistentVector prevForm = (PersistentVector) prevRoot.nth(j);
+          int lineShift = (forms.isEmpty() ? readLine : lineAfter(forms.get(forms.size() - 1))) - lineAfter(prevForm);
+          for (int k = j + 1; k <= numForms; k++) {
+            forms.add(shifted((PersistentVector) prevRoot.nth(k), shift, lineShift));
+          }
+          List<PersistentVector> post = shiftedNodes(prevRoot.meta().valAt(POST), shift, lineShift);
+          return editedRoot(forms, post, source);
+        }
+      } else if (scanner.failed) {
+        break;
+      }
+    }
+    AstNode chunk = new SourceReader(source, tabSize, readStart, source.length(), readLine).readRoot();
+    List<PersistentVector> post = new ArrayList<>();
+    if (chunk.post != null) {
+      for (AstNode node : chunk.post) {
+        post.add(node.toVec());
+      }
+    }
+    return editedRoot(formsBefore(prevRoot, numPrefixForms, chunk), post, source);
+  }
+
+  /**
+   * Returns the line of the reader after the given top-level form that
+   * ends with a line break. Lines can't be counted from the source because
+   * the reader doesn't count the newlines of \<newline> char literals.
+   */
+  private static int lineAfter(PersistentVector form) {
+    ISeq post = RT.seq(form.meta().valAt(POST));
+    Object lineBreak = null;
+    for (; post != null; post = post.next()) {
+      lineBreak = post.first();
+    }
+    return (Integer) ((PersistentVector) lineBreak).meta().valAt(LINE) + 1;
+  }
+
+  private static int lastFormEndingBefore(PersistentVector root, int offset) {
+    int lo = 1;
+    int hi = root.count() - 1;
+    int res = 0;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      int end = (Integer) ((PersistentVector) root.nth(mid)).meta().valAt(END);
+      if (end <= offset) {
+        res = mid;
+        lo = mid + 1;
+      } else {
+        hi = mid - 1;
+      }
+    }
+    return res;
+  }
+
+  /**
+   * Returns index after the given top-level form's post nodes if they end
+   * with a line break (= the form was completed by the line break and the
+   * reader has no pending state), otherwise -1
+   */
+  private static int boundaryAfter(PersistentVector form) {
+    IPersistentMap m = form.meta();
+    int pos = (Integer) m.valAt(END);
+    boolean lineBreak = false;
+    for (ISeq post = RT.seq(m.valAt(POST)); post != null; post = post.next()) {
+      PersistentVector node = (PersistentVector) post.first();
+      Object type = node.nth(0);
+      Object end = node.meta().valAt(END);
+      lineBreak = NEWLINE.equals(type);
+      if (end != null) {
+        pos = (Integer) end;
+      } else if (node.nth(1) instanceof String) {
+        pos += ((String) node.nth(1)).length();
+      } else {
+        return -1;
+      }
+    }
+    return lineBreak ? pos : -1;
+  }
+
+  private static List<PersistentVector> formsBefore(PersistentVector root, int numForms, AstNode chunk) {
+    List<PersistentVector> forms = new ArrayList<>(root.count());
+    for (int k = 1; k <= numForms; k++) {
+      forms.add((PersistentVector) root.nth(k));
+    }
+    for (Object form : chunk.children) {
+      forms.add(((AstNode) form).toVec());
+    }
+    return forms;
+  }
+
+  private static PersistentVector shifted(PersistentVector node, int shift, int lineShift) {
+    if (shift == 0 && lineShift == 0) {
+      return node;
+    }
+    ITransientCollection vec = PersistentVector.EMPTY.asTransient();
+    for (Object child : node) {
+      vec = vec.conj(child instanceof PersistentVector ? shifted((PersistentVector) child, shift, lineShift) : child);
+    }
+    IPersistentMap m = node.meta();
+    m = m.assoc(LINE, (Integer) m.valAt(LINE) + lineShift);
+    if (m.valAt(START) != null) {
+      m = m.assoc(START, (Integer) m.valAt(START) + shift)
+          .assoc(END, (Integer) m.valAt(END) + shift);
+    }
+    for (Keyword k : new Keyword[]{PRE, CHILDREN, POST}) {
+      Object nodes = m.valAt(k);
+      if (nodes != null) {
+        m = m.assoc(k, RT.seq(shiftedNodes(nodes, shift, lineShift)));
+      }
+    }
+    return ((PersistentVector) vec.persistent()).withMeta(m);
+  }
+
+  private static List<PersistentVector> shiftedNodes(Object nodes, int shift, int lineShift) {
+    List<PersistentVector> vecs = new ArrayList<>();
+    for (ISeq s = RT.seq(nodes); s != null; s = s.next()) {
+      vecs.add(shifted((PersistentVector) s.first(), shift, lineShift));
+    }
+    return vecs;
+  }
+
+  private static PersistentVector editedRoot(List<PersistentVector> forms, List<PersistentVector> post, String source) {
+    PersistentVector root = AstNode.createRootVec(forms, post, source.length());
+    return root.withMeta(root.meta().assoc(SOURCE, source));
+  }
+
+  private static String normalizeNewlines(String source) {
+    return source.replaceAll("(\n|\r\n|\r)", "\n");
+  }
+
+  private static PersistentVector readNormalized(String source, int tabSize, int chunkLength) {
+    List<int[]> boundaries = chunkLength > 0 ? TopLevelScanner.scan(source, chunkLength) : null;
+    PersistentVector root = boundaries == null || boundaries.isEmpty()
+        ? new SourceReader(source, tabSize, 0, source.length(), 1).readRoot().toVec()
+        : readChunks(source, tabSize, boundaries);
+    return root.withMeta(root.meta().assoc(SOURCE, source));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static PersistentVector readChunks(String source, int tabSize, List<int[]> boundaries) {
+    int n = boundaries.size() + 1;
+    List<Object> results = IntStream.range(0, n)
+        .parallel()
+        .mapToObj(i -> {
+          int start = i == 0 ? 0 : boundaries.get(i - 1)[0];
+          int end = i == n - 1 ? source.length() : boundaries.get(i)[0];
+          int line = i == 0 ? 1 : boundaries.get(i - 1)[1];
+          try {
+            return (Object) new SourceReader(source, tabSize, start, end, line).readRoot();
+          } catch (RuntimeException ex) {
+            return ex;
+          }
+        })
+        .collect(Collectors.toList());
+    // The scanner doesn't validate the source, so on invalid input the chunk
+    // boundaries may differ from the sequential reading and a chunk may fail
+    // with a different error. Re-read the source sequentially to report the
+    // same error as the sequential reader does
+    for (Object result : results) {
+      if (result instanceof RuntimeException) {
+        return new SourceReader(source, tabSize, 0, source.length(), 1).readRoot().toVec();
+      }
+    }
+    // Merge chunks in order: meta nodes after the last form of the chunk
+    // belong to the first form of the next chunk, like in sequential reading
+    LinkedList<AstNode> forms = new LinkedList<>();
+    List<AstNode> pending = null;
+    for (Object result : results) {
+      AstNode chunk = (AstNode) result;
+      List<AstNode> chunkForms = (List<AstNode>) chunk.children;
+      if (!chunkForms.isEmpty()) {
+        AstNode first = chunkForms.get(0);
+        first.pre = concatMetaNodes(pending, first.pre);
+        pending = null;
+      }
+      forms.addAll(chunkForms);
+      pending = concatMetaNodes(pending, chunk.post);
+    }
+    AstNode root = createRoot(forms);
+    root.start = 0;
+    root.end = source.length();
+    root.post = pending;
+    List<PersistentVector> formVecs = new ArrayList<>(forms)
+        .parallelStream()
+        .map(AstNode::toVec)
+        .collect(Collectors.toList());
+    return root.toVec(formVecs);
+  }
+
+  private static List<AstNode> concatMetaNodes(List<AstNode> a, List<AstNode> b) {
+    if (a == null) {
+      return b;
+    } else if (b == null) {
+      return a;
+    }
+    LinkedList<AstNode> res = new LinkedList<>(a);
+    res.addAll(b);
+    return res;
+  }
+
+  /**
+   * Pre-scan that finds top-level form boundaries without constructing
+   * any AST. Only string, char literal, comment, regex and bracket depth
+   * state is tracked. Boundary is a line start where the previous
+   * top-level form is complete: bracket depth is zero and there are no
+   * prefixes (quote, metadata, discard, tag...) waiting for their forms.
+   */
+  private static class TopLevelScanner {
+    private final String src;
+    private final int len;
+    private int i = 0;
+    private int line = 1;
+    private int depth = 0;
+    // Number of forms still required to complete the current top-level form
+    private int needed = 0;
+
+    private boolean failed = false;
+
+    private TopLevelScanner(String src) {
+      this.src = src;
+      this.len = src.length();
+    }
+
+    private TopLevelScanner(String src, int start) {
+      this(src);
+      this.i = start;
+    }
+
+    /**
+     * Scans to the given index and returns boolean whether the index is
+     * a top-level boundary, i.e. it was reached exactly and all forms
+     * before it are complete
+     */
+    boolean scanTo(int limit) {
+      while (!failed && i < limit) {
+        char ch = src.charAt(i);
+        if (ch == '\n') {
+          i++;
+          line++;
+        } else if (!step(ch)) {
+          failed = true;
+        }
+      }
+      return !failed && i == limit && depth == 0 && needed == 0;
+    }
+
+    /**
+     * Returns [index, line] pairs of the chunk boundaries or null if the
+     * source can't be split safely (e.g. it contains syntax errors)
+     */
+    static List<int[]> scan(String src, int chunkLength) {
+      TopLevelScanner s = new TopLevelScanner(src);
+      List<int[]> boundaries = new ArrayList<>();
+      int next = chunkLength;
+      while (s.i < s.len) {
+        char ch = s.src.charAt(s.i);
+        if (ch == '\n') {
+          s.i++;
+          s.line++;
+          if (s.depth == 0 && s.needed == 0 && s.i >= next && s.i < s.len) {
+            boundaries.add(new int[]{s.i, s.line});
+            next = s.i + chunkLength;
+          }
+        } else if (!s.step(ch)) {
+          return null;
+        }
+      }
+      return s.depth == 0 && s.needed == 0 ? boundaries : null;
+    }
+
+    private boolean step(char ch) {
+      if (isWhitespace(ch)) {
+        i++;
+        return true;
+      }
+      switch (ch) {
+        case ';':
+          skipLine();
+          return true;
+        case '"':
+          i++;
+          return skipString() && formDone();
+        case '\\':
+          // the reader does not count the newline of a \<newline> char
+          // literal as a line break, so neither does the scanner
+          i += 2;
+          skipToken();
+          return formDone();
+        case '(':
+        case '[':
+        case '{':
+          i++;
+          depth++;
+          return true;
+        case ')':
+        case ']':
+        case '}':
+          i++;
+          return --depth >= 0 && (depth > 0 || formDone());
+        case '\'':
+        case '`':
+        case '@':
+          i++;
+          return prefix();
+        case '~':
+          i++;
+          if (i < len && src.charAt(i) == '@') {
+            i++;
+          }
+          return prefix();
+        case '^':
+          i++;
+          return metadata();
+        case '#':
+          return dispatch();
+        default:
+          skipToken();
+          return formDone();
+      }
+    }
+
+    private boolean dispatch() {
+      if (i + 1 >= len) {
+        return false;
+      }
+      char ch = src.charAt(i + 1);
+      switch (ch) {
+        case '"':
+          i += 2;
+          return skipString() && formDone();
+        case '(':
+        case '{':
+          i++;
+          return true;
+        case '!':
+          skipLine();
+          return true;
+        case '^':
+          i += 2;
+          return metadata();
+        case '\'':
+          i += 2;
+          return prefix();
+        case '_':
+          i += 2;
+          if (depth == 0) {
+            needed++;
+          }
+          return true;
+        case '?':
+          i += 2;
+          if (i < len && src.charAt(i) == '@') {
+            i++;
+          }
+          return true;
+        case '#':
+          i += 2;
+          skipToken();
+          return formDone();
+        case ':':
+          // namespaced map: the map is the form of the prefix
+          i += 2;
+          skipToken();
+          return prefix();
+        case '=':
+          return false;
+        default:
+          // tagged literal
+          i++;
+          skipToken();
+          return prefix();
+      }
+    }
+
+    private boolean formDone() {
+      if (depth == 0 && needed > 0) {
+        needed--;
+      }
+      return true;
+    }
+
+    private boolean prefix() {
+      // Prefixed form fulfills the pending requirement by itself
+      if (depth == 0 && needed == 0) {
+        needed = 1;
+      }
+      return true;
+    }
+
+    private boolean metadata() {
+      // Metadata requires its value and, unless some prefix is already
+      // waiting for a form, also the form it's attached to
+      if (depth == 0) {
+        needed += needed == 0 ? 2 : 1;
+      }
+      return true;
+    }
+
+    private void skipLine() {
+      int nl = src.indexOf('\n', i);
+      i = nl < 0 || nl > len ? len : nl;
+    }
+
+    private boolean skipString() {
+      while (i < len) {
+        char ch = src.charAt(i++);
+        if (ch == '"') {
+          return true;
+        } else if (ch == '\\') {
+          if (i < len && src.charAt(i) == '\n') {
+            line++;
+          }
+          i++;
+        } else if (ch == '\n') {
+          line++;
+        }
+      }
+      return false;
+    }
+
+    private void skipToken() {
+      while (i < len) {
+        char ch = src.charAt(i);
+        if (isWhitespace(ch) || isTerminatingMacroChar(ch)) {
+          return;
+        }
+        i++;
+      }
+    }
+
+    private static boolean isTerminatingMacroChar(char ch) {
+      switch (ch) {
+        case '"':
+        case ';':
+        case '@':
+        case '^':
+        case '`':
+        case '~':
+        case '(':
+        case ')':
+        case '[':
+        case ']':
+        case '{':
+        case '}':
+        case '\\':
+          return true;
+        default:
+          return false;
+      }
+    }
   }
 
   private interface FormReader {
@@ -45,10 +581,12 @@ public class SourceReader {
   private boolean hasPendingMetadataMetaNodes = false;
   private AstNode latestReadNode = null;
 
-  private SourceReader(String source, int tabSize) {
+  private SourceReader(String source, int tabSize, int start, int end, int line) {
     this.tabSize = tabSize;
     _source = source;
-    _len = _source.length();
+    _index = start;
+    _len = end;
+    _line = line;
     macros['"'] = this::readStringNode;
     macros[';'] = this::readCommentNode;
     macros['\''] = this::readQuoteNode;
@@ -89,6 +627,8 @@ public class SourceReader {
       forms.add(form);
     }
     AstNode root = createRoot(forms);
+    root.start = 0;
+    root.end = _len;
     if (hasPendingMetadataMetaNodes) {
       throw new ReaderException("EOF while reading");
     }
@@ -120,8 +660,9 @@ public class SourceReader {
         handleWhitespace(line, col);
         continue;
       }
+      int start = _mark;
       if (Character.isDigit(ch)) {
-        return readNumberNode(line, col);
+        return withStart(start, readNumberNode(line, col));
       }
 
       if (!pendingEndChars.empty() && pendingEndChars.peek().equals(ch)) {
@@ -130,19 +671,19 @@ public class SourceReader {
 
       FormReader macroReader = getMacro(ch);
       if (macroReader != null) {
-        return macroReader.readNext(line, col);
+        return withStart(start, macroReader.readNext(line, col));
       }
       if (ch == '+' || ch == '-') {
         int ch2 = read1();
         if (Character.isDigit(ch2)) {
           unread1();
-          return readNumberNode(line, col);
+          return withStart(start, readNumberNode(line, col));
         } else {
           unread1();
         }
       }
       String token = readToken();
-      return tokenToAstNode(token, line, col);
+      return withStart(start, tokenToAstNode(token, line, col));
     }
   }
 
@@ -232,7 +773,8 @@ public class SourceReader {
   }
 
   private AstNode readStringNode(int line, int col) {
-    for (int ch = read1(); ch != '"'; ch = read1(), _col++) {
+    skipPlainStringChars();
+    for (int ch = read1(); ch != '"'; _col++, skipPlainStringChars(), ch = read1()) {
       if (ch == -1) {
         throw new ReaderException("EOF while reading string");
       }
@@ -402,33 +944,31 @@ public class SourceReader {
    */
 
   private AstNode readCommentNode(int line, int col) {
-    while (true) {
-      int ch = read1();
-      if (ch == -1 || isNewline(ch)) {
-        if (ch == -1) {
-          unread1();
-          handleLineBreak(createComment(line, col, readMarked()));
-        } else {
-          _line++;
-          _col = 1;
-          String comment = readMarkedExceptLast();
-          handleMetaNode(createComment(line, col, comment), false);
-          handleLineBreak(createNewline(line, col + comment.length()));
-        }
-        break;
-      } else {
-        _col++;
-      }
+    // comment body can't contain anything but the terminating newline
+    // so it can be skipped at once with the (intrinsified) indexOf
+    int nl = _source.indexOf('\n', _index);
+    if (nl < 0 || nl >= _len) {
+      _col += _len - _index;
+      _index = _len;
+      handleLineBreak(createComment(line, col, readMarked()));
+    } else {
+      _index = nl + 1;
+      _line++;
+      _col = 1;
+      String comment = readMarkedExceptLast();
+      handleMetaNode(createComment(line, col, comment), false);
+      handleLineBreak(createNewline(line, col + comment.length()));
     }
     return readNextForm();
   }
 
   private AstNode readDiscardNode(int line, int col) {
+    int start = _mark;
     AstNode discarded = nested(this::readNextForm);
     if (discarded == null) {
       throw new ReaderException("Unexpected EOF after discard");
     }
-    handleMetaNode(createDiscard(line, col, discarded), true);
+    handleMetaNode(withOffsets(start, createDiscard(line, col, discarded)), true);
     return readNextForm();
   }
 
@@ -438,6 +978,7 @@ public class SourceReader {
     //   bar
     // => bar should get ^Meta as :pre, thus ending foo before actual newline
     markLatestReadNodeAsComplete();
+    int start = _mark;
     AstNode form = nested(this::readNextForm);
     if (form == null) {
       throw new ReaderException("Unexpected EOF while reading metadata");
@@ -449,7 +990,7 @@ public class SourceReader {
         || STRING.equals(type))) {
       throw new ReaderException("Metadata must be Symbol, Keyword, String or Map");
     }
-    handleMetaNode(createMeta(line, col, form), true);
+    handleMetaNode(withOffsets(start, createMeta(line, col, form)), true);
     hasPendingMetadataMetaNodes = true;
     return readNextForm();
   }
@@ -835,8 +1376,22 @@ public class SourceReader {
     pendingMetaNodes.add(metaNode);
   }
 
+  private AstNode withStart(int start, AstNode node) {
+    if (node != null && node.start < 0) {
+      node.start = start;
+    }
+    return node;
+  }
+
+  private AstNode withOffsets(int start, AstNode node) {
+    node.start = start;
+    node.end = _index;
+    return node;
+  }
+
   private <NodeType extends AstNode> NodeType handleNode(NodeType node) {
     assert node.pre == null;
+    node.end = _index;
     node.pre = pendingMetaNodes;
     pendingMetaNodes = null;
     hasPendingMetadataMetaNodes = false;
@@ -845,19 +1400,40 @@ public class SourceReader {
   }
 
   private void handleWhitespace(int line, int col) {
-    while (true) {
-      int c = read1();
-      if (!isWhitespace(c) || isNewline(c)) {
+    int i = _index;
+    int tabs = 0;
+    for (; i < _len; i++) {
+      char c = _source.charAt(i);
+      if (c == '\t') {
+        tabs++;
+      } else if (c != ' ' && c != ',' && (isNewline(c) || !isWhitespace(c))) {
         break;
-      } else {
-        _col += c == '\t' ? tabSize : 1;
       }
     }
-    unread1();
+    _col += (i - _index) + tabs * (tabSize - 1);
+    _index = i;
     String ws = readMarked();
     handleMetaNode(createSpace(line, col, ws), false);
   }
 
+  /**
+   * Skips the run of string characters that need no special handling
+   * (= everything except quotes, escapes, newlines and tabs) and updates
+   * the column by the run length
+   */
+  private void skipPlainStringChars() {
+    int i = _index;
+    while (i < _len) {
+      char c = _source.charAt(i);
+      if (c == '"' || c == '\\' || c == '\n' || c == '\t') {
+        break;
+      }
+      i++;
+    }
+    _col += i - _index;
+    _index = i;
+  }
+
   private static boolean isNewline(int ch) {
     return ch == '\n';
   }
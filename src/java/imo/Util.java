@@ -21,4 +21,20 @@ public class Util {
     Arrays.fill(chars, ' ');
     return String.valueOf(chars);
   }
+
+  /**
+   * Returns true if chars of the given char sequence in range [from, to)
+   * are equal to the chars of the given string in the same range.
+   */
+  public static boolean regionEquals(CharSequence s, String other, int from, int to) {
+    if (to > other.length()) {
+      return false;
+    }
+    for (int i = from; i < to; i++) {
+      if (s.charAt(i) != other.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
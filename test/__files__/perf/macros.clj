@@ -0,0 +1,3027 @@
+(ns perf.macros
+  (:require [clojure.string :as string]))
+
+(defmacro with-status-user-0
+  "Evaluates body with line bound"
+  [[binding line] & body]
+  (let [line# (gensym "line")]
+    `(let [~binding ~line
+           line# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! line# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @line#]
+             (println '~binding v#)))))))
+
+(defn amount-timestamp-0
+  [line opts]
+  (with-status-user-0 [x line]
+    (cond-> opts
+      (:event opts) (update :amount-cache inc)
+      (seq x) (assoc :index (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :payload-value)
+                  (merge {:amount-count line})))))
+
+(defmacro with-payload-response-1
+  "Evaluates body with status bound"
+  [[binding status] & body]
+  (let [status# (gensym "status")]
+    `(let [~binding ~status
+           status# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! status# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @status#]
+             (println '~binding v#)))))))
+
+(defn route-email-1
+  [status opts]
+  (with-payload-response-1 [x status]
+    (cond-> opts
+      (:order opts) (update :query-line inc)
+      (seq x) (assoc :config-config (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :token)
+                  (merge {:handler-value status})))))
+
+(defmacro with-item-total-2
+  "Evaluates body with token bound"
+  [[binding token] & body]
+  (let [token# (gensym "token")]
+    `(let [~binding ~token
+           token# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! token# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @token#]
+             (println '~binding v#)))))))
+
+(defn config-label-2
+  [token opts]
+  (with-item-total-2 [x token]
+    (cond-> opts
+      (:total opts) (update :order-account inc)
+      (seq x) (assoc :line (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :amount)
+                  (merge {:page token})))))
+
+(defmacro with-price-result-3
+  "Evaluates body with request bound"
+  [[binding request] & body]
+  (let [request# (gensym "request")]
+    `(let [~binding ~request
+           request# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! request# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @request#]
+             (println '~binding v#)))))))
+
+(defn account-name-3
+  [request opts]
+  (with-price-result-3 [x request]
+    (cond-> opts
+      (:session opts) (update :page inc)
+      (seq x) (assoc :user (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :payload-status)
+                  (merge {:index-error request})))))
+
+(defmacro with-node-item-4
+  "Evaluates body with request bound"
+  [[binding request] & body]
+  (let [request# (gensym "request")]
+    `(let [~binding ~request
+           request# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! request# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @request#]
+             (println '~binding v#)))))))
+
+(defn status-offset-4
+  [request opts]
+  (with-node-item-4 [x request]
+    (cond-> opts
+      (:request opts) (update :event-event inc)
+      (seq x) (assoc :value-item (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :user-line)
+                  (merge {:config-route request})))))
+
+(defmacro with-cache-name-5
+  "Evaluates body with token bound"
+  [[binding token] & body]
+  (let [token# (gensym "token")]
+    `(let [~binding ~token
+           token# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! token# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @token#]
+             (println '~binding v#)))))))
+
+(defn payload-amount-5
+  [token opts]
+  (with-cache-name-5 [x token]
+    (cond-> opts
+      (:user opts) (update :timestamp-config inc)
+      (seq x) (assoc :offset (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :line-payload)
+                  (merge {:line token})))))
+
+(defmacro with-value-user-6
+  "Evaluates body with page bound"
+  [[binding page] & body]
+  (let [page# (gensym "page")]
+    `(let [~binding ~page
+           page# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! page# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @page#]
+             (println '~binding v#)))))))
+
+(defn result-token-6
+  [page opts]
+  (with-value-user-6 [x page]
+    (cond-> opts
+      (:cache opts) (update :email-amount inc)
+      (seq x) (assoc :error-line (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :limit)
+                  (merge {:response page})))))
+
+(defmacro with-route-error-7
+  "Evaluates body with account bound"
+  [[binding account] & body]
+  (let [account# (gensym "account")]
+    `(let [~binding ~account
+           account# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! account# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @account#]
+             (println '~binding v#)))))))
+
+(defn timestamp-token-7
+  [account opts]
+  (with-route-error-7 [x account]
+    (cond-> opts
+      (:payload opts) (update :result-email inc)
+      (seq x) (assoc :index-page (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :item)
+                  (merge {:name account})))))
+
+(defmacro with-item-event-8
+  "Evaluates body with request bound"
+  [[binding request] & body]
+  (let [request# (gensym "request")]
+    `(let [~binding ~request
+           request# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! request# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @request#]
+             (println '~binding v#)))))))
+
+(defn timestamp-entry-8
+  [request opts]
+  (with-item-event-8 [x request]
+    (cond-> opts
+      (:error opts) (update :offset inc)
+      (seq x) (assoc :label (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :count)
+                  (merge {:cache request})))))
+
+(defmacro with-offset-total-9
+  "Evaluates body with result bound"
+  [[binding result] & body]
+  (let [result# (gensym "result")]
+    `(let [~binding ~result
+           result# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! result# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @result#]
+             (println '~binding v#)))))))
+
+(defn name-order-9
+  [result opts]
+  (with-offset-total-9 [x result]
+    (cond-> opts
+      (:item opts) (update :handler inc)
+      (seq x) (assoc :count-timestamp (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :price)
+                  (merge {:error-count result})))))
+
+(defmacro with-status-timestamp-10
+  "Evaluates body with total bound"
+  [[binding total] & body]
+  (let [total# (gensym "total")]
+    `(let [~binding ~total
+           total# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! total# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @total#]
+             (println '~binding v#)))))))
+
+(defn limit-token-10
+  [total opts]
+  (with-status-timestamp-10 [x total]
+    (cond-> opts
+      (:error opts) (update :line-cache inc)
+      (seq x) (assoc :item-entry (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :cache-payload)
+                  (merge {:user-total total})))))
+
+(defmacro with-offset-payload-11
+  "Evaluates body with timestamp bound"
+  [[binding timestamp] & body]
+  (let [timestamp# (gensym "timestamp")]
+    `(let [~binding ~timestamp
+           timestamp# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! timestamp# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @timestamp#]
+             (println '~binding v#)))))))
+
+(defn index-price-11
+  [timestamp opts]
+  (with-offset-payload-11 [x timestamp]
+    (cond-> opts
+      (:price opts) (update :count-handler inc)
+      (seq x) (assoc :timestamp-timestamp (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :total)
+                  (merge {:handler timestamp})))))
+
+(defmacro with-config-order-12
+  "Evaluates body with status bound"
+  [[binding status] & body]
+  (let [status# (gensym "status")]
+    `(let [~binding ~status
+           status# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! status# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @status#]
+             (println '~binding v#)))))))
+
+(defn account-handler-12
+  [status opts]
+  (with-config-order-12 [x status]
+    (cond-> opts
+      (:label opts) (update :status inc)
+      (seq x) (assoc :offset-count (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :name)
+                  (merge {:count status})))))
+
+(defmacro with-label-user-13
+  "Evaluates body with email bound"
+  [[binding email] & body]
+  (let [email# (gensym "email")]
+    `(let [~binding ~email
+           email# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! email# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @email#]
+             (println '~binding v#)))))))
+
+(defn route-email-13
+  [email opts]
+  (with-label-user-13 [x email]
+    (cond-> opts
+      (:amount opts) (update :event inc)
+      (seq x) (assoc :query-item (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :value-timestamp)
+                  (merge {:request-error email})))))
+
+(defmacro with-order-price-14
+  "Evaluates body with page bound"
+  [[binding page] & body]
+  (let [page# (gensym "page")]
+    `(let [~binding ~page
+           page# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! page# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @page#]
+             (println '~binding v#)))))))
+
+(defn account-payload-14
+  [page opts]
+  (with-order-price-14 [x page]
+    (cond-> opts
+      (:error opts) (update :amount inc)
+      (seq x) (assoc :error (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :result)
+                  (merge {:index-email page})))))
+
+(defmacro with-status-count-15
+  "Evaluates body with total bound"
+  [[binding total] & body]
+  (let [total# (gensym "total")]
+    `(let [~binding ~total
+           total# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! total# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @total#]
+             (println '~binding v#)))))))
+
+(defn offset-price-15
+  [total opts]
+  (with-status-count-15 [x total]
+    (cond-> opts
+      (:total opts) (update :status-email inc)
+      (seq x) (assoc :event-page (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :index)
+                  (merge {:total total})))))
+
+(defmacro with-request-handler-16
+  "Evaluates body with email bound"
+  [[binding email] & body]
+  (let [email# (gensym "email")]
+    `(let [~binding ~email
+           email# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! email# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @email#]
+             (println '~binding v#)))))))
+
+(defn handler-event-16
+  [email opts]
+  (with-request-handler-16 [x email]
+    (cond-> opts
+      (:price opts) (update :cache-offset inc)
+      (seq x) (assoc :token (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :amount-account)
+                  (merge {:count-account email})))))
+
+(defmacro with-user-query-17
+  "Evaluates body with event bound"
+  [[binding event] & body]
+  (let [event# (gensym "event")]
+    `(let [~binding ~event
+           event# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! event# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @event#]
+             (println '~binding v#)))))))
+
+(defn line-result-17
+  [event opts]
+  (with-user-query-17 [x event]
+    (cond-> opts
+      (:event opts) (update :email-payload inc)
+      (seq x) (assoc :user-limit (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :email)
+                  (merge {:line event})))))
+
+(defmacro with-order-label-18
+  "Evaluates body with payload bound"
+  [[binding payload] & body]
+  (let [payload# (gensym "payload")]
+    `(let [~binding ~payload
+           payload# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! payload# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @payload#]
+             (println '~binding v#)))))))
+
+(defn token-handler-18
+  [payload opts]
+  (with-order-label-18 [x payload]
+    (cond-> opts
+      (:query opts) (update :error inc)
+      (seq x) (assoc :total (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :node)
+                  (merge {:token payload})))))
+
+(defmacro with-item-event-19
+  "Evaluates body with route bound"
+  [[binding route] & body]
+  (let [route# (gensym "route")]
+    `(let [~binding ~route
+           route# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! route# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @route#]
+             (println '~binding v#)))))))
+
+(defn total-count-19
+  [route opts]
+  (with-item-event-19 [x route]
+    (cond-> opts
+      (:route opts) (update :handler inc)
+      (seq x) (assoc :item-handler (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :index-order)
+                  (merge {:entry-page route})))))
+
+(defmacro with-timestamp-total-20
+  "Evaluates body with count bound"
+  [[binding count] & body]
+  (let [count# (gensym "count")]
+    `(let [~binding ~count
+           count# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! count# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @count#]
+             (println '~binding v#)))))))
+
+(defn order-handler-20
+  [count opts]
+  (with-timestamp-total-20 [x count]
+    (cond-> opts
+      (:status opts) (update :price inc)
+      (seq x) (assoc :item (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :email-config)
+                  (merge {:payload-status count})))))
+
+(defmacro with-response-page-21
+  "Evaluates body with offset bound"
+  [[binding offset] & body]
+  (let [offset# (gensym "offset")]
+    `(let [~binding ~offset
+           offset# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! offset# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @offset#]
+             (println '~binding v#)))))))
+
+(defn value-event-21
+  [offset opts]
+  (with-response-page-21 [x offset]
+    (cond-> opts
+      (:line opts) (update :status-request inc)
+      (seq x) (assoc :session-result (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :total)
+                  (merge {:email offset})))))
+
+(defmacro with-session-line-22
+  "Evaluates body with entry bound"
+  [[binding entry] & body]
+  (let [entry# (gensym "entry")]
+    `(let [~binding ~entry
+           entry# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! entry# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @entry#]
+             (println '~binding v#)))))))
+
+(defn label-amount-22
+  [entry opts]
+  (with-session-line-22 [x entry]
+    (cond-> opts
+      (:event opts) (update :event inc)
+      (seq x) (assoc :amount-handler (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :offset-config)
+                  (merge {:config-email entry})))))
+
+(defmacro with-item-token-23
+  "Evaluates body with email bound"
+  [[binding email] & body]
+  (let [email# (gensym "email")]
+    `(let [~binding ~email
+           email# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! email# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @email#]
+             (println '~binding v#)))))))
+
+(defn account-count-23
+  [email opts]
+  (with-item-token-23 [x email]
+    (cond-> opts
+      (:entry opts) (update :account-count inc)
+      (seq x) (assoc :price-token (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :email)
+                  (merge {:label-cache email})))))
+
+(defmacro with-status-total-24
+  "Evaluates body with value bound"
+  [[binding value] & body]
+  (let [value# (gensym "value")]
+    `(let [~binding ~value
+           value# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! value# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @value#]
+             (println '~binding v#)))))))
+
+(defn count-config-24
+  [value opts]
+  (with-status-total-24 [x value]
+    (cond-> opts
+      (:handler opts) (update :session inc)
+      (seq x) (assoc :index (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :payload-page)
+                  (merge {:event value})))))
+
+(defmacro with-request-email-25
+  "Evaluates body with limit bound"
+  [[binding limit] & body]
+  (let [limit# (gensym "limit")]
+    `(let [~binding ~limit
+           limit# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! limit# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @limit#]
+             (println '~binding v#)))))))
+
+(defn session-handler-25
+  [limit opts]
+  (with-request-email-25 [x limit]
+    (cond-> opts
+      (:config opts) (update :amount inc)
+      (seq x) (assoc :user-token (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :handler)
+                  (merge {:route limit})))))
+
+(defmacro with-config-config-26
+  "Evaluates body with event bound"
+  [[binding event] & body]
+  (let [event# (gensym "event")]
+    `(let [~binding ~event
+           event# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! event# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @event#]
+             (println '~binding v#)))))))
+
+(defn event-amount-26
+  [event opts]
+  (with-config-config-26 [x event]
+    (cond-> opts
+      (:event opts) (update :timestamp inc)
+      (seq x) (assoc :event (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :node-value)
+                  (merge {:handler-offset event})))))
+
+(defmacro with-cache-handler-27
+  "Evaluates body with line bound"
+  [[binding line] & body]
+  (let [line# (gensym "line")]
+    `(let [~binding ~line
+           line# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! line# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @line#]
+             (println '~binding v#)))))))
+
+(defn response-amount-27
+  [line opts]
+  (with-cache-handler-27 [x line]
+    (cond-> opts
+      (:cache opts) (update :account-total inc)
+      (seq x) (assoc :total-price (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :route-query)
+                  (merge {:timestamp line})))))
+
+(defmacro with-name-name-28
+  "Evaluates body with amount bound"
+  [[binding amount] & body]
+  (let [amount# (gensym "amount")]
+    `(let [~binding ~amount
+           amount# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! amount# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @amount#]
+             (println '~binding v#)))))))
+
+(defn account-email-28
+  [amount opts]
+  (with-name-name-28 [x amount]
+    (cond-> opts
+      (:index opts) (update :item-session inc)
+      (seq x) (assoc :token-query (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :node-request)
+                  (merge {:response-query amount})))))
+
+(defmacro with-response-page-29
+  "Evaluates body with payload bound"
+  [[binding payload] & body]
+  (let [payload# (gensym "payload")]
+    `(let [~binding ~payload
+           payload# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! payload# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @payload#]
+             (println '~binding v#)))))))
+
+(defn amount-handler-29
+  [payload opts]
+  (with-response-page-29 [x payload]
+    (cond-> opts
+      (:response opts) (update :error inc)
+      (seq x) (assoc :offset (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :payload)
+                  (merge {:payload payload})))))
+
+(defmacro with-offset-value-30
+  "Evaluates body with amount bound"
+  [[binding amount] & body]
+  (let [amount# (gensym "amount")]
+    `(let [~binding ~amount
+           amount# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! amount# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @amount#]
+             (println '~binding v#)))))))
+
+(defn user-error-30
+  [amount opts]
+  (with-offset-value-30 [x amount]
+    (cond-> opts
+      (:entry opts) (update :amount-offset inc)
+      (seq x) (assoc :timestamp (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :token)
+                  (merge {:limit amount})))))
+
+(defmacro with-node-cache-31
+  "Evaluates body with node bound"
+  [[binding node] & body]
+  (let [node# (gensym "node")]
+    `(let [~binding ~node
+           node# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! node# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @node#]
+             (println '~binding v#)))))))
+
+(defn value-item-31
+  [node opts]
+  (with-node-cache-31 [x node]
+    (cond-> opts
+      (:order opts) (update :request-timestamp inc)
+      (seq x) (assoc :item (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :timestamp-item)
+                  (merge {:index-payload node})))))
+
+(defmacro with-price-limit-32
+  "Evaluates body with price bound"
+  [[binding price] & body]
+  (let [price# (gensym "price")]
+    `(let [~binding ~price
+           price# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! price# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @price#]
+             (println '~binding v#)))))))
+
+(defn timestamp-result-32
+  [price opts]
+  (with-price-limit-32 [x price]
+    (cond-> opts
+      (:order opts) (update :response inc)
+      (seq x) (assoc :limit (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :session)
+                  (merge {:event-session price})))))
+
+(defmacro with-count-query-33
+  "Evaluates body with error bound"
+  [[binding error] & body]
+  (let [error# (gensym "error")]
+    `(let [~binding ~error
+           error# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! error# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @error#]
+             (println '~binding v#)))))))
+
+(defn line-status-33
+  [error opts]
+  (with-count-query-33 [x error]
+    (cond-> opts
+      (:price opts) (update :amount-index inc)
+      (seq x) (assoc :index-node (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :amount-index)
+                  (merge {:limit error})))))
+
+(defmacro with-page-item-34
+  "Evaluates body with page bound"
+  [[binding page] & body]
+  (let [page# (gensym "page")]
+    `(let [~binding ~page
+           page# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! page# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @page#]
+             (println '~binding v#)))))))
+
+(defn page-offset-34
+  [page opts]
+  (with-page-item-34 [x page]
+    (cond-> opts
+      (:entry opts) (update :status-timestamp inc)
+      (seq x) (assoc :index (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :user-config)
+                  (merge {:result page})))))
+
+(defmacro with-amount-value-35
+  "Evaluates body with email bound"
+  [[binding email] & body]
+  (let [email# (gensym "email")]
+    `(let [~binding ~email
+           email# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! email# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @email#]
+             (println '~binding v#)))))))
+
+(defn token-total-35
+  [email opts]
+  (with-amount-value-35 [x email]
+    (cond-> opts
+      (:response opts) (update :entry inc)
+      (seq x) (assoc :order (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :account-page)
+                  (merge {:page-node email})))))
+
+(defmacro with-result-total-36
+  "Evaluates body with timestamp bound"
+  [[binding timestamp] & body]
+  (let [timestamp# (gensym "timestamp")]
+    `(let [~binding ~timestamp
+           timestamp# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! timestamp# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @timestamp#]
+             (println '~binding v#)))))))
+
+(defn handler-event-36
+  [timestamp opts]
+  (with-result-total-36 [x timestamp]
+    (cond-> opts
+      (:value opts) (update :payload-value inc)
+      (seq x) (assoc :result (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :price-value)
+                  (merge {:request timestamp})))))
+
+(defmacro with-route-token-37
+  "Evaluates body with request bound"
+  [[binding request] & body]
+  (let [request# (gensym "request")]
+    `(let [~binding ~request
+           request# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! request# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @request#]
+             (println '~binding v#)))))))
+
+(defn config-user-37
+  [request opts]
+  (with-route-token-37 [x request]
+    (cond-> opts
+      (:line opts) (update :order-item inc)
+      (seq x) (assoc :page-session (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :event)
+                  (merge {:order-offset request})))))
+
+(defmacro with-order-page-38
+  "Evaluates body with timestamp bound"
+  [[binding timestamp] & body]
+  (let [timestamp# (gensym "timestamp")]
+    `(let [~binding ~timestamp
+           timestamp# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! timestamp# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @timestamp#]
+             (println '~binding v#)))))))
+
+(defn event-count-38
+  [timestamp opts]
+  (with-order-page-38 [x timestamp]
+    (cond-> opts
+      (:account opts) (update :cache-total inc)
+      (seq x) (assoc :status-cache (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :order-line)
+                  (merge {:error timestamp})))))
+
+(defmacro with-price-line-39
+  "Evaluates body with timestamp bound"
+  [[binding timestamp] & body]
+  (let [timestamp# (gensym "timestamp")]
+    `(let [~binding ~timestamp
+           timestamp# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! timestamp# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @timestamp#]
+             (println '~binding v#)))))))
+
+(defn limit-limit-39
+  [timestamp opts]
+  (with-price-line-39 [x timestamp]
+    (cond-> opts
+      (:order opts) (update :token-error inc)
+      (seq x) (assoc :event (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :price)
+                  (merge {:line-item timestamp})))))
+
+(defmacro with-page-entry-40
+  "Evaluates body with cache bound"
+  [[binding cache] & body]
+  (let [cache# (gensym "cache")]
+    `(let [~binding ~cache
+           cache# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! cache# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @cache#]
+             (println '~binding v#)))))))
+
+(defn label-label-40
+  [cache opts]
+  (with-page-entry-40 [x cache]
+    (cond-> opts
+      (:node opts) (update :price-amount inc)
+      (seq x) (assoc :page (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :result)
+                  (merge {:config-status cache})))))
+
+(defmacro with-event-entry-41
+  "Evaluates body with request bound"
+  [[binding request] & body]
+  (let [request# (gensym "request")]
+    `(let [~binding ~request
+           request# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! request# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @request#]
+             (println '~binding v#)))))))
+
+(defn name-name-41
+  [request opts]
+  (with-event-entry-41 [x request]
+    (cond-> opts
+      (:error opts) (update :node-handler inc)
+      (seq x) (assoc :total-timestamp (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :status)
+                  (merge {:error request})))))
+
+(defmacro with-payload-account-42
+  "Evaluates body with item bound"
+  [[binding item] & body]
+  (let [item# (gensym "item")]
+    `(let [~binding ~item
+           item# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! item# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @item#]
+             (println '~binding v#)))))))
+
+(defn user-cache-42
+  [item opts]
+  (with-payload-account-42 [x item]
+    (cond-> opts
+      (:token opts) (update :token inc)
+      (seq x) (assoc :index (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :amount-token)
+                  (merge {:request item})))))
+
+(defmacro with-timestamp-status-43
+  "Evaluates body with config bound"
+  [[binding config] & body]
+  (let [config# (gensym "config")]
+    `(let [~binding ~config
+           config# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! config# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @config#]
+             (println '~binding v#)))))))
+
+(defn line-config-43
+  [config opts]
+  (with-timestamp-status-43 [x config]
+    (cond-> opts
+      (:timestamp opts) (update :token-email inc)
+      (seq x) (assoc :account-account (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :request)
+                  (merge {:order config})))))
+
+(defmacro with-event-label-44
+  "Evaluates body with amount bound"
+  [[binding amount] & body]
+  (let [amount# (gensym "amount")]
+    `(let [~binding ~amount
+           amount# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! amount# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @amount#]
+             (println '~binding v#)))))))
+
+(defn cache-request-44
+  [amount opts]
+  (with-event-label-44 [x amount]
+    (cond-> opts
+      (:price opts) (update :total-price inc)
+      (seq x) (assoc :session (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :item-route)
+                  (merge {:limit amount})))))
+
+(defmacro with-total-payload-45
+  "Evaluates body with error bound"
+  [[binding error] & body]
+  (let [error# (gensym "error")]
+    `(let [~binding ~error
+           error# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! error# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @error#]
+             (println '~binding v#)))))))
+
+(defn token-page-45
+  [error opts]
+  (with-total-payload-45 [x error]
+    (cond-> opts
+      (:amount opts) (update :name-event inc)
+      (seq x) (assoc :price (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :order-total)
+                  (merge {:session error})))))
+
+(defmacro with-label-count-46
+  "Evaluates body with value bound"
+  [[binding value] & body]
+  (let [value# (gensym "value")]
+    `(let [~binding ~value
+           value# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! value# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @value#]
+             (println '~binding v#)))))))
+
+(defn timestamp-index-46
+  [value opts]
+  (with-label-count-46 [x value]
+    (cond-> opts
+      (:offset opts) (update :index inc)
+      (seq x) (assoc :user-payload (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :total-error)
+                  (merge {:route value})))))
+
+(defmacro with-account-query-47
+  "Evaluates body with query bound"
+  [[binding query] & body]
+  (let [query# (gensym "query")]
+    `(let [~binding ~query
+           query# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! query# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @query#]
+             (println '~binding v#)))))))
+
+(defn index-item-47
+  [query opts]
+  (with-account-query-47 [x query]
+    (cond-> opts
+      (:route opts) (update :total-request inc)
+      (seq x) (assoc :request-account (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :amount)
+                  (merge {:label-handler query})))))
+
+(defmacro with-entry-session-48
+  "Evaluates body with config bound"
+  [[binding config] & body]
+  (let [config# (gensym "config")]
+    `(let [~binding ~config
+           config# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! config# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @config#]
+             (println '~binding v#)))))))
+
+(defn user-total-48
+  [config opts]
+  (with-entry-session-48 [x config]
+    (cond-> opts
+      (:event opts) (update :label-cache inc)
+      (seq x) (assoc :route-price (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :user)
+                  (merge {:response config})))))
+
+(defmacro with-node-offset-49
+  "Evaluates body with total bound"
+  [[binding total] & body]
+  (let [total# (gensym "total")]
+    `(let [~binding ~total
+           total# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! total# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @total#]
+             (println '~binding v#)))))))
+
+(defn order-token-49
+  [total opts]
+  (with-node-offset-49 [x total]
+    (cond-> opts
+      (:cache opts) (update :price inc)
+      (seq x) (assoc :entry (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :entry-line)
+                  (merge {:line total})))))
+
+(defmacro with-count-label-50
+  "Evaluates body with value bound"
+  [[binding value] & body]
+  (let [value# (gensym "value")]
+    `(let [~binding ~value
+           value# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! value# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @value#]
+             (println '~binding v#)))))))
+
+(defn route-account-50
+  [value opts]
+  (with-count-label-50 [x value]
+    (cond-> opts
+      (:account opts) (update :order inc)
+      (seq x) (assoc :order (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :payload-cache)
+                  (merge {:timestamp value})))))
+
+(defmacro with-result-cache-51
+  "Evaluates body with payload bound"
+  [[binding payload] & body]
+  (let [payload# (gensym "payload")]
+    `(let [~binding ~payload
+           payload# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! payload# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @payload#]
+             (println '~binding v#)))))))
+
+(defn order-timestamp-51
+  [payload opts]
+  (with-result-cache-51 [x payload]
+    (cond-> opts
+      (:index opts) (update :error inc)
+      (seq x) (assoc :limit-timestamp (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :route-line)
+                  (merge {:session payload})))))
+
+(defmacro with-status-payload-52
+  "Evaluates body with page bound"
+  [[binding page] & body]
+  (let [page# (gensym "page")]
+    `(let [~binding ~page
+           page# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! page# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @page#]
+             (println '~binding v#)))))))
+
+(defn email-account-52
+  [page opts]
+  (with-status-payload-52 [x page]
+    (cond-> opts
+      (:handler opts) (update :email inc)
+      (seq x) (assoc :total-status (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :name)
+                  (merge {:order-value page})))))
+
+(defmacro with-page-count-53
+  "Evaluates body with status bound"
+  [[binding status] & body]
+  (let [status# (gensym "status")]
+    `(let [~binding ~status
+           status# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! status# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @status#]
+             (println '~binding v#)))))))
+
+(defn account-limit-53
+  [status opts]
+  (with-page-count-53 [x status]
+    (cond-> opts
+      (:error opts) (update :query inc)
+      (seq x) (assoc :limit (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :event)
+                  (merge {:limit-handler status})))))
+
+(defmacro with-name-offset-54
+  "Evaluates body with query bound"
+  [[binding query] & body]
+  (let [query# (gensym "query")]
+    `(let [~binding ~query
+           query# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! query# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @query#]
+             (println '~binding v#)))))))
+
+(defn price-status-54
+  [query opts]
+  (with-name-offset-54 [x query]
+    (cond-> opts
+      (:token opts) (update :request-limit inc)
+      (seq x) (assoc :price-order (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :request-session)
+                  (merge {:price query})))))
+
+(defmacro with-label-payload-55
+  "Evaluates body with status bound"
+  [[binding status] & body]
+  (let [status# (gensym "status")]
+    `(let [~binding ~status
+           status# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! status# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @status#]
+             (println '~binding v#)))))))
+
+(defn offset-line-55
+  [status opts]
+  (with-label-payload-55 [x status]
+    (cond-> opts
+      (:status opts) (update :total inc)
+      (seq x) (assoc :line-name (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :status-limit)
+                  (merge {:error status})))))
+
+(defmacro with-account-line-56
+  "Evaluates body with page bound"
+  [[binding page] & body]
+  (let [page# (gensym "page")]
+    `(let [~binding ~page
+           page# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! page# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @page#]
+             (println '~binding v#)))))))
+
+(defn result-route-56
+  [page opts]
+  (with-account-line-56 [x page]
+    (cond-> opts
+      (:count opts) (update :session inc)
+      (seq x) (assoc :query-price (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :status)
+                  (merge {:user page})))))
+
+(defmacro with-index-payload-57
+  "Evaluates body with handler bound"
+  [[binding handler] & body]
+  (let [handler# (gensym "handler")]
+    `(let [~binding ~handler
+           handler# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! handler# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @handler#]
+             (println '~binding v#)))))))
+
+(defn order-item-57
+  [handler opts]
+  (with-index-payload-57 [x handler]
+    (cond-> opts
+      (:query opts) (update :error inc)
+      (seq x) (assoc :token (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :value-node)
+                  (merge {:page-route handler})))))
+
+(defmacro with-request-line-58
+  "Evaluates body with status bound"
+  [[binding status] & body]
+  (let [status# (gensym "status")]
+    `(let [~binding ~status
+           status# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! status# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @status#]
+             (println '~binding v#)))))))
+
+(defn session-limit-58
+  [status opts]
+  (with-request-line-58 [x status]
+    (cond-> opts
+      (:account opts) (update :route-node inc)
+      (seq x) (assoc :email-label (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :limit)
+                  (merge {:payload status})))))
+
+(defmacro with-amount-page-59
+  "Evaluates body with index bound"
+  [[binding index] & body]
+  (let [index# (gensym "index")]
+    `(let [~binding ~index
+           index# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! index# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @index#]
+             (println '~binding v#)))))))
+
+(defn handler-request-59
+  [index opts]
+  (with-amount-page-59 [x index]
+    (cond-> opts
+      (:handler opts) (update :page inc)
+      (seq x) (assoc :account-result (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :response)
+                  (merge {:limit-price index})))))
+
+(defmacro with-timestamp-entry-60
+  "Evaluates body with entry bound"
+  [[binding entry] & body]
+  (let [entry# (gensym "entry")]
+    `(let [~binding ~entry
+           entry# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! entry# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @entry#]
+             (println '~binding v#)))))))
+
+(defn payload-token-60
+  [entry opts]
+  (with-timestamp-entry-60 [x entry]
+    (cond-> opts
+      (:label opts) (update :label inc)
+      (seq x) (assoc :status (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :handler)
+                  (merge {:name entry})))))
+
+(defmacro with-name-event-61
+  "Evaluates body with config bound"
+  [[binding config] & body]
+  (let [config# (gensym "config")]
+    `(let [~binding ~config
+           config# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! config# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @config#]
+             (println '~binding v#)))))))
+
+(defn amount-item-61
+  [config opts]
+  (with-name-event-61 [x config]
+    (cond-> opts
+      (:response opts) (update :response inc)
+      (seq x) (assoc :name (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :cache)
+                  (merge {:timestamp-count config})))))
+
+(defmacro with-order-email-62
+  "Evaluates body with label bound"
+  [[binding label] & body]
+  (let [label# (gensym "label")]
+    `(let [~binding ~label
+           label# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! label# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @label#]
+             (println '~binding v#)))))))
+
+(defn item-response-62
+  [label opts]
+  (with-order-email-62 [x label]
+    (cond-> opts
+      (:limit opts) (update :handler inc)
+      (seq x) (assoc :index-value (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :item-account)
+                  (merge {:timestamp label})))))
+
+(defmacro with-amount-user-63
+  "Evaluates body with config bound"
+  [[binding config] & body]
+  (let [config# (gensym "config")]
+    `(let [~binding ~config
+           config# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! config# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @config#]
+             (println '~binding v#)))))))
+
+(defn node-timestamp-63
+  [config opts]
+  (with-amount-user-63 [x config]
+    (cond-> opts
+      (:count opts) (update :cache-error inc)
+      (seq x) (assoc :name (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :item)
+                  (merge {:event config})))))
+
+(defmacro with-handler-page-64
+  "Evaluates body with error bound"
+  [[binding error] & body]
+  (let [error# (gensym "error")]
+    `(let [~binding ~error
+           error# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! error# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @error#]
+             (println '~binding v#)))))))
+
+(defn query-item-64
+  [error opts]
+  (with-handler-page-64 [x error]
+    (cond-> opts
+      (:response opts) (update :result-total inc)
+      (seq x) (assoc :label (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :name)
+                  (merge {:node-node error})))))
+
+(defmacro with-cache-response-65
+  "Evaluates body with session bound"
+  [[binding session] & body]
+  (let [session# (gensym "session")]
+    `(let [~binding ~session
+           session# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! session# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @session#]
+             (println '~binding v#)))))))
+
+(defn handler-payload-65
+  [session opts]
+  (with-cache-response-65 [x session]
+    (cond-> opts
+      (:label opts) (update :count-price inc)
+      (seq x) (assoc :name-item (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :event)
+                  (merge {:entry-item session})))))
+
+(defmacro with-name-label-66
+  "Evaluates body with error bound"
+  [[binding error] & body]
+  (let [error# (gensym "error")]
+    `(let [~binding ~error
+           error# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! error# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @error#]
+             (println '~binding v#)))))))
+
+(defn label-amount-66
+  [error opts]
+  (with-name-label-66 [x error]
+    (cond-> opts
+      (:query opts) (update :item inc)
+      (seq x) (assoc :query-error (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :payload)
+                  (merge {:line-count error})))))
+
+(defmacro with-route-node-67
+  "Evaluates body with entry bound"
+  [[binding entry] & body]
+  (let [entry# (gensym "entry")]
+    `(let [~binding ~entry
+           entry# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! entry# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @entry#]
+             (println '~binding v#)))))))
+
+(defn price-status-67
+  [entry opts]
+  (with-route-node-67 [x entry]
+    (cond-> opts
+      (:route opts) (update :query-total inc)
+      (seq x) (assoc :session (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :item-offset)
+                  (merge {:route-status entry})))))
+
+(defmacro with-email-session-68
+  "Evaluates body with line bound"
+  [[binding line] & body]
+  (let [line# (gensym "line")]
+    `(let [~binding ~line
+           line# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! line# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @line#]
+             (println '~binding v#)))))))
+
+(defn timestamp-account-68
+  [line opts]
+  (with-email-session-68 [x line]
+    (cond-> opts
+      (:event opts) (update :query-route inc)
+      (seq x) (assoc :config-account (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :value-name)
+                  (merge {:count line})))))
+
+(defmacro with-session-event-69
+  "Evaluates body with node bound"
+  [[binding node] & body]
+  (let [node# (gensym "node")]
+    `(let [~binding ~node
+           node# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! node# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @node#]
+             (println '~binding v#)))))))
+
+(defn entry-payload-69
+  [node opts]
+  (with-session-event-69 [x node]
+    (cond-> opts
+      (:index opts) (update :limit-route inc)
+      (seq x) (assoc :status (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :line-timestamp)
+                  (merge {:order-total node})))))
+
+(defmacro with-amount-cache-70
+  "Evaluates body with session bound"
+  [[binding session] & body]
+  (let [session# (gensym "session")]
+    `(let [~binding ~session
+           session# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! session# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @session#]
+             (println '~binding v#)))))))
+
+(defn request-timestamp-70
+  [session opts]
+  (with-amount-cache-70 [x session]
+    (cond-> opts
+      (:user opts) (update :price-token inc)
+      (seq x) (assoc :line (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :node)
+                  (merge {:item-result session})))))
+
+(defmacro with-item-result-71
+  "Evaluates body with error bound"
+  [[binding error] & body]
+  (let [error# (gensym "error")]
+    `(let [~binding ~error
+           error# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! error# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @error#]
+             (println '~binding v#)))))))
+
+(defn result-handler-71
+  [error opts]
+  (with-item-result-71 [x error]
+    (cond-> opts
+      (:email opts) (update :handler-handler inc)
+      (seq x) (assoc :response (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :index-label)
+                  (merge {:config-price error})))))
+
+(defmacro with-amount-page-72
+  "Evaluates body with price bound"
+  [[binding price] & body]
+  (let [price# (gensym "price")]
+    `(let [~binding ~price
+           price# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! price# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @price#]
+             (println '~binding v#)))))))
+
+(defn session-amount-72
+  [price opts]
+  (with-amount-page-72 [x price]
+    (cond-> opts
+      (:index opts) (update :node-value inc)
+      (seq x) (assoc :timestamp-config (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :handler-count)
+                  (merge {:price-count price})))))
+
+(defmacro with-route-route-73
+  "Evaluates body with order bound"
+  [[binding order] & body]
+  (let [order# (gensym "order")]
+    `(let [~binding ~order
+           order# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! order# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @order#]
+             (println '~binding v#)))))))
+
+(defn response-result-73
+  [order opts]
+  (with-route-route-73 [x order]
+    (cond-> opts
+      (:amount opts) (update :cache-payload inc)
+      (seq x) (assoc :token-limit (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :config)
+                  (merge {:account-error order})))))
+
+(defmacro with-handler-request-74
+  "Evaluates body with name bound"
+  [[binding name] & body]
+  (let [name# (gensym "name")]
+    `(let [~binding ~name
+           name# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! name# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @name#]
+             (println '~binding v#)))))))
+
+(defn token-error-74
+  [name opts]
+  (with-handler-request-74 [x name]
+    (cond-> opts
+      (:name opts) (update :limit-count inc)
+      (seq x) (assoc :route-session (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :session-page)
+                  (merge {:total-name name})))))
+
+(defmacro with-payload-response-75
+  "Evaluates body with entry bound"
+  [[binding entry] & body]
+  (let [entry# (gensym "entry")]
+    `(let [~binding ~entry
+           entry# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! entry# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @entry#]
+             (println '~binding v#)))))))
+
+(defn cache-status-75
+  [entry opts]
+  (with-payload-response-75 [x entry]
+    (cond-> opts
+      (:name opts) (update :error-payload inc)
+      (seq x) (assoc :query (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :email-amount)
+                  (merge {:timestamp-label entry})))))
+
+(defmacro with-label-limit-76
+  "Evaluates body with user bound"
+  [[binding user] & body]
+  (let [user# (gensym "user")]
+    `(let [~binding ~user
+           user# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! user# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @user#]
+             (println '~binding v#)))))))
+
+(defn config-query-76
+  [user opts]
+  (with-label-limit-76 [x user]
+    (cond-> opts
+      (:item opts) (update :label-query inc)
+      (seq x) (assoc :index-handler (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :value-payload)
+                  (merge {:payload-timestamp user})))))
+
+(defmacro with-handler-user-77
+  "Evaluates body with node bound"
+  [[binding node] & body]
+  (let [node# (gensym "node")]
+    `(let [~binding ~node
+           node# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! node# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @node#]
+             (println '~binding v#)))))))
+
+(defn user-user-77
+  [node opts]
+  (with-handler-user-77 [x node]
+    (cond-> opts
+      (:limit opts) (update :user-count inc)
+      (seq x) (assoc :payload-price (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :handler-result)
+                  (merge {:status-timestamp node})))))
+
+(defmacro with-cache-error-78
+  "Evaluates body with token bound"
+  [[binding token] & body]
+  (let [token# (gensym "token")]
+    `(let [~binding ~token
+           token# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! token# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @token#]
+             (println '~binding v#)))))))
+
+(defn config-cache-78
+  [token opts]
+  (with-cache-error-78 [x token]
+    (cond-> opts
+      (:price opts) (update :email-item inc)
+      (seq x) (assoc :user (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :timestamp)
+                  (merge {:value token})))))
+
+(defmacro with-event-session-79
+  "Evaluates body with route bound"
+  [[binding route] & body]
+  (let [route# (gensym "route")]
+    `(let [~binding ~route
+           route# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! route# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @route#]
+             (println '~binding v#)))))))
+
+(defn value-name-79
+  [route opts]
+  (with-event-session-79 [x route]
+    (cond-> opts
+      (:payload opts) (update :amount-handler inc)
+      (seq x) (assoc :query (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :request-node)
+                  (merge {:total route})))))
+
+(defmacro with-line-route-80
+  "Evaluates body with index bound"
+  [[binding index] & body]
+  (let [index# (gensym "index")]
+    `(let [~binding ~index
+           index# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! index# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @index#]
+             (println '~binding v#)))))))
+
+(defn error-payload-80
+  [index opts]
+  (with-line-route-80 [x index]
+    (cond-> opts
+      (:account opts) (update :name inc)
+      (seq x) (assoc :event-request (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :limit-count)
+                  (merge {:amount-request index})))))
+
+(defmacro with-order-result-81
+  "Evaluates body with node bound"
+  [[binding node] & body]
+  (let [node# (gensym "node")]
+    `(let [~binding ~node
+           node# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! node# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @node#]
+             (println '~binding v#)))))))
+
+(defn limit-line-81
+  [node opts]
+  (with-order-result-81 [x node]
+    (cond-> opts
+      (:route opts) (update :value inc)
+      (seq x) (assoc :route (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :total-config)
+                  (merge {:email-account node})))))
+
+(defmacro with-session-page-82
+  "Evaluates body with request bound"
+  [[binding request] & body]
+  (let [request# (gensym "request")]
+    `(let [~binding ~request
+           request# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! request# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @request#]
+             (println '~binding v#)))))))
+
+(defn email-payload-82
+  [request opts]
+  (with-session-page-82 [x request]
+    (cond-> opts
+      (:config opts) (update :offset-account inc)
+      (seq x) (assoc :amount (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :value-price)
+                  (merge {:timestamp-request request})))))
+
+(defmacro with-config-config-83
+  "Evaluates body with name bound"
+  [[binding name] & body]
+  (let [name# (gensym "name")]
+    `(let [~binding ~name
+           name# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! name# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @name#]
+             (println '~binding v#)))))))
+
+(defn amount-error-83
+  [name opts]
+  (with-config-config-83 [x name]
+    (cond-> opts
+      (:total opts) (update :cache-name inc)
+      (seq x) (assoc :email-line (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :status)
+                  (merge {:index name})))))
+
+(defmacro with-request-count-84
+  "Evaluates body with token bound"
+  [[binding token] & body]
+  (let [token# (gensym "token")]
+    `(let [~binding ~token
+           token# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! token# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @token#]
+             (println '~binding v#)))))))
+
+(defn order-name-84
+  [token opts]
+  (with-request-count-84 [x token]
+    (cond-> opts
+      (:status opts) (update :event-limit inc)
+      (seq x) (assoc :limit-name (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :item-price)
+                  (merge {:page-user token})))))
+
+(defmacro with-index-offset-85
+  "Evaluates body with response bound"
+  [[binding response] & body]
+  (let [response# (gensym "response")]
+    `(let [~binding ~response
+           response# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! response# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @response#]
+             (println '~binding v#)))))))
+
+(defn status-handler-85
+  [response opts]
+  (with-index-offset-85 [x response]
+    (cond-> opts
+      (:query opts) (update :query inc)
+      (seq x) (assoc :result-name (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :price)
+                  (merge {:status response})))))
+
+(defmacro with-session-timestamp-86
+  "Evaluates body with payload bound"
+  [[binding payload] & body]
+  (let [payload# (gensym "payload")]
+    `(let [~binding ~payload
+           payload# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! payload# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @payload#]
+             (println '~binding v#)))))))
+
+(defn query-cache-86
+  [payload opts]
+  (with-session-timestamp-86 [x payload]
+    (cond-> opts
+      (:page opts) (update :payload-email inc)
+      (seq x) (assoc :payload (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :name-config)
+                  (merge {:payload-total payload})))))
+
+(defmacro with-status-entry-87
+  "Evaluates body with status bound"
+  [[binding status] & body]
+  (let [status# (gensym "status")]
+    `(let [~binding ~status
+           status# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! status# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @status#]
+             (println '~binding v#)))))))
+
+(defn node-request-87
+  [status opts]
+  (with-status-entry-87 [x status]
+    (cond-> opts
+      (:timestamp opts) (update :event-account inc)
+      (seq x) (assoc :query (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :page)
+                  (merge {:user-timestamp status})))))
+
+(defmacro with-amount-session-88
+  "Evaluates body with session bound"
+  [[binding session] & body]
+  (let [session# (gensym "session")]
+    `(let [~binding ~session
+           session# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! session# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @session#]
+             (println '~binding v#)))))))
+
+(defn query-page-88
+  [session opts]
+  (with-amount-session-88 [x session]
+    (cond-> opts
+      (:token opts) (update :response-email inc)
+      (seq x) (assoc :line (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :item-cache)
+                  (merge {:query-page session})))))
+
+(defmacro with-response-order-89
+  "Evaluates body with entry bound"
+  [[binding entry] & body]
+  (let [entry# (gensym "entry")]
+    `(let [~binding ~entry
+           entry# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! entry# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @entry#]
+             (println '~binding v#)))))))
+
+(defn item-label-89
+  [entry opts]
+  (with-response-order-89 [x entry]
+    (cond-> opts
+      (:event opts) (update :timestamp inc)
+      (seq x) (assoc :email-error (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :line)
+                  (merge {:session entry})))))
+
+(defmacro with-node-limit-90
+  "Evaluates body with cache bound"
+  [[binding cache] & body]
+  (let [cache# (gensym "cache")]
+    `(let [~binding ~cache
+           cache# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! cache# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @cache#]
+             (println '~binding v#)))))))
+
+(defn session-query-90
+  [cache opts]
+  (with-node-limit-90 [x cache]
+    (cond-> opts
+      (:total opts) (update :count-route inc)
+      (seq x) (assoc :amount-event (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :route)
+                  (merge {:config-user cache})))))
+
+(defmacro with-name-cache-91
+  "Evaluates body with limit bound"
+  [[binding limit] & body]
+  (let [limit# (gensym "limit")]
+    `(let [~binding ~limit
+           limit# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! limit# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @limit#]
+             (println '~binding v#)))))))
+
+(defn response-payload-91
+  [limit opts]
+  (with-name-cache-91 [x limit]
+    (cond-> opts
+      (:error opts) (update :route inc)
+      (seq x) (assoc :account (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :entry)
+                  (merge {:query-timestamp limit})))))
+
+(defmacro with-entry-config-92
+  "Evaluates body with session bound"
+  [[binding session] & body]
+  (let [session# (gensym "session")]
+    `(let [~binding ~session
+           session# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! session# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @session#]
+             (println '~binding v#)))))))
+
+(defn index-handler-92
+  [session opts]
+  (with-entry-config-92 [x session]
+    (cond-> opts
+      (:count opts) (update :index inc)
+      (seq x) (assoc :index-node (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :order)
+                  (merge {:count-offset session})))))
+
+(defmacro with-limit-value-93
+  "Evaluates body with total bound"
+  [[binding total] & body]
+  (let [total# (gensym "total")]
+    `(let [~binding ~total
+           total# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! total# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @total#]
+             (println '~binding v#)))))))
+
+(defn session-total-93
+  [total opts]
+  (with-limit-value-93 [x total]
+    (cond-> opts
+      (:session opts) (update :total inc)
+      (seq x) (assoc :timestamp-email (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :session)
+                  (merge {:item-label total})))))
+
+(defmacro with-email-item-94
+  "Evaluates body with price bound"
+  [[binding price] & body]
+  (let [price# (gensym "price")]
+    `(let [~binding ~price
+           price# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! price# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @price#]
+             (println '~binding v#)))))))
+
+(defn node-node-94
+  [price opts]
+  (with-email-item-94 [x price]
+    (cond-> opts
+      (:user opts) (update :node inc)
+      (seq x) (assoc :cache (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :order-index)
+                  (merge {:total price})))))
+
+(defmacro with-session-count-95
+  "Evaluates body with item bound"
+  [[binding item] & body]
+  (let [item# (gensym "item")]
+    `(let [~binding ~item
+           item# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! item# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @item#]
+             (println '~binding v#)))))))
+
+(defn limit-total-95
+  [item opts]
+  (with-session-count-95 [x item]
+    (cond-> opts
+      (:order opts) (update :count-query inc)
+      (seq x) (assoc :order (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :entry-config)
+                  (merge {:entry item})))))
+
+(defmacro with-offset-email-96
+  "Evaluates body with item bound"
+  [[binding item] & body]
+  (let [item# (gensym "item")]
+    `(let [~binding ~item
+           item# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! item# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @item#]
+             (println '~binding v#)))))))
+
+(defn response-config-96
+  [item opts]
+  (with-offset-email-96 [x item]
+    (cond-> opts
+      (:line opts) (update :order inc)
+      (seq x) (assoc :result-count (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :price)
+                  (merge {:line item})))))
+
+(defmacro with-value-offset-97
+  "Evaluates body with error bound"
+  [[binding error] & body]
+  (let [error# (gensym "error")]
+    `(let [~binding ~error
+           error# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! error# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @error#]
+             (println '~binding v#)))))))
+
+(defn route-offset-97
+  [error opts]
+  (with-value-offset-97 [x error]
+    (cond-> opts
+      (:token opts) (update :query-event inc)
+      (seq x) (assoc :label (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :error-request)
+                  (merge {:token-timestamp error})))))
+
+(defmacro with-total-price-98
+  "Evaluates body with result bound"
+  [[binding result] & body]
+  (let [result# (gensym "result")]
+    `(let [~binding ~result
+           result# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! result# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @result#]
+             (println '~binding v#)))))))
+
+(defn node-total-98
+  [result opts]
+  (with-total-price-98 [x result]
+    (cond-> opts
+      (:order opts) (update :page inc)
+      (seq x) (assoc :count (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :node)
+                  (merge {:value-email result})))))
+
+(defmacro with-line-payload-99
+  "Evaluates body with email bound"
+  [[binding email] & body]
+  (let [email# (gensym "email")]
+    `(let [~binding ~email
+           email# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! email# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @email#]
+             (println '~binding v#)))))))
+
+(defn request-line-99
+  [email opts]
+  (with-line-payload-99 [x email]
+    (cond-> opts
+      (:offset opts) (update :count-page inc)
+      (seq x) (assoc :page-user (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :line)
+                  (merge {:payload-label email})))))
+
+(defmacro with-name-user-100
+  "Evaluates body with session bound"
+  [[binding session] & body]
+  (let [session# (gensym "session")]
+    `(let [~binding ~session
+           session# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! session# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @session#]
+             (println '~binding v#)))))))
+
+(defn line-request-100
+  [session opts]
+  (with-name-user-100 [x session]
+    (cond-> opts
+      (:route opts) (update :line inc)
+      (seq x) (assoc :session (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :cache-timestamp)
+                  (merge {:index-value session})))))
+
+(defmacro with-status-error-101
+  "Evaluates body with status bound"
+  [[binding status] & body]
+  (let [status# (gensym "status")]
+    `(let [~binding ~status
+           status# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! status# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @status#]
+             (println '~binding v#)))))))
+
+(defn order-query-101
+  [status opts]
+  (with-status-error-101 [x status]
+    (cond-> opts
+      (:entry opts) (update :label-query inc)
+      (seq x) (assoc :event (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :result)
+                  (merge {:cache status})))))
+
+(defmacro with-timestamp-value-102
+  "Evaluates body with line bound"
+  [[binding line] & body]
+  (let [line# (gensym "line")]
+    `(let [~binding ~line
+           line# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! line# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @line#]
+             (println '~binding v#)))))))
+
+(defn route-token-102
+  [line opts]
+  (with-timestamp-value-102 [x line]
+    (cond-> opts
+      (:page opts) (update :name-status inc)
+      (seq x) (assoc :config-label (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :order-status)
+                  (merge {:value line})))))
+
+(defmacro with-error-response-103
+  "Evaluates body with route bound"
+  [[binding route] & body]
+  (let [route# (gensym "route")]
+    `(let [~binding ~route
+           route# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! route# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @route#]
+             (println '~binding v#)))))))
+
+(defn value-amount-103
+  [route opts]
+  (with-error-response-103 [x route]
+    (cond-> opts
+      (:result opts) (update :count inc)
+      (seq x) (assoc :index-route (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :offset-request)
+                  (merge {:user route})))))
+
+(defmacro with-timestamp-price-104
+  "Evaluates body with price bound"
+  [[binding price] & body]
+  (let [price# (gensym "price")]
+    `(let [~binding ~price
+           price# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! price# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @price#]
+             (println '~binding v#)))))))
+
+(defn node-offset-104
+  [price opts]
+  (with-timestamp-price-104 [x price]
+    (cond-> opts
+      (:event opts) (update :price inc)
+      (seq x) (assoc :limit-config (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :index-user)
+                  (merge {:event price})))))
+
+(defmacro with-response-handler-105
+  "Evaluates body with error bound"
+  [[binding error] & body]
+  (let [error# (gensym "error")]
+    `(let [~binding ~error
+           error# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! error# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @error#]
+             (println '~binding v#)))))))
+
+(defn error-error-105
+  [error opts]
+  (with-response-handler-105 [x error]
+    (cond-> opts
+      (:response opts) (update :cache-total inc)
+      (seq x) (assoc :response-event (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :index)
+                  (merge {:entry error})))))
+
+(defmacro with-cache-error-106
+  "Evaluates body with count bound"
+  [[binding count] & body]
+  (let [count# (gensym "count")]
+    `(let [~binding ~count
+           count# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! count# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @count#]
+             (println '~binding v#)))))))
+
+(defn price-price-106
+  [count opts]
+  (with-cache-error-106 [x count]
+    (cond-> opts
+      (:account opts) (update :value inc)
+      (seq x) (assoc :response (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :user-item)
+                  (merge {:handler count})))))
+
+(defmacro with-config-total-107
+  "Evaluates body with node bound"
+  [[binding node] & body]
+  (let [node# (gensym "node")]
+    `(let [~binding ~node
+           node# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! node# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @node#]
+             (println '~binding v#)))))))
+
+(defn config-route-107
+  [node opts]
+  (with-config-total-107 [x node]
+    (cond-> opts
+      (:node opts) (update :limit-amount inc)
+      (seq x) (assoc :account (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :route-payload)
+                  (merge {:amount node})))))
+
+(defmacro with-event-amount-108
+  "Evaluates body with config bound"
+  [[binding config] & body]
+  (let [config# (gensym "config")]
+    `(let [~binding ~config
+           config# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! config# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @config#]
+             (println '~binding v#)))))))
+
+(defn node-line-108
+  [config opts]
+  (with-event-amount-108 [x config]
+    (cond-> opts
+      (:order opts) (update :account-line inc)
+      (seq x) (assoc :page-name (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :route-token)
+                  (merge {:line-result config})))))
+
+(defmacro with-count-offset-109
+  "Evaluates body with token bound"
+  [[binding token] & body]
+  (let [token# (gensym "token")]
+    `(let [~binding ~token
+           token# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! token# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @token#]
+             (println '~binding v#)))))))
+
+(defn token-entry-109
+  [token opts]
+  (with-count-offset-109 [x token]
+    (cond-> opts
+      (:index opts) (update :price-email inc)
+      (seq x) (assoc :value-value (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :token-event)
+                  (merge {:label-config token})))))
+
+(defmacro with-name-token-110
+  "Evaluates body with item bound"
+  [[binding item] & body]
+  (let [item# (gensym "item")]
+    `(let [~binding ~item
+           item# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! item# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @item#]
+             (println '~binding v#)))))))
+
+(defn entry-total-110
+  [item opts]
+  (with-name-token-110 [x item]
+    (cond-> opts
+      (:value opts) (update :error inc)
+      (seq x) (assoc :event (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :value)
+                  (merge {:error-user item})))))
+
+(defmacro with-token-entry-111
+  "Evaluates body with route bound"
+  [[binding route] & body]
+  (let [route# (gensym "route")]
+    `(let [~binding ~route
+           route# (atom nil)]
+       (try
+         (doseq [x# (range 10)
+                 :when (odd? x#)]
+           (swap! route# conj x#))
+         ~@body
+         (finally
+           (when-let [v# @route#]
+             (println '~binding v#)))))))
+
+(defn cache-event-111
+  [route opts]
+  (with-token-entry-111 [x route]
+    (cond-> opts
+      (:count opts) (update :account inc)
+      (seq x) (assoc :query (for [y x
+                                 :let [z (* y y)]
+                                 :when (pos? z)]
+                             {:y y :z z}))
+      :always (-> (dissoc :count)
+                  (merge {:result route})))))
+
@@ -0,0 +1,94 @@
+(ns imo.analysis-tests
+  (:require [clojure.test :refer :all]
+            [test-utils :refer [analyze load-test-file]]
+            [imo.config :as config]
+            [imo.core :as imo]
+            [imo.analysis.core :as analysis])
+  (:import (imo ImoException)))
+
+(deftest form-registration
+  (testing "forms can be registered and re-registered after the built-in forms are loaded"
+    (let [invalid? #(:invalid? (meta (second (analyze "(my/test-form x)"))))]
+      (try
+        (analysis/defform 'my/test-form #(analysis/analyze [:imo.analysis.core/symbol :imo.analysis.core/symbol] %1 %2))
+        (is (not (invalid?)))
+        (analysis/defform 'my/test-form #(analysis/analyze [:imo.analysis.core/symbol :imo.analysis.core/keyword] %1 %2))
+        (is (invalid?))
+        (finally
+          (swap! @#'analysis/form-analyzers dissoc 'my/test-form))))))
+
+(deftest fast-analysis
+  (let [fast (assoc config/defaults :analysis {:mode :fast})]
+    (testing "fast analysis produces identical formatting for the fixture corpus"
+      (doseq [file ["clojure_core.clj" "perf/app.cljs" "perf/shared.cljc" "perf/data.edn" "perf/macros.clj"]
+              :let [root (imo/read (load-test-file file))]]
+        (is (= (imo/format config/defaults (imo/analyze config/defaults root))
+               (imo/format fast (imo/analyze fast root)))
+            file)))
+    (testing "local bindings shadowing registered forms are tracked"
+      (let [resolved #(->> (analyze % fast)
+                           (tree-seq vector? seq)
+                           (keep (comp :resolve-as meta))
+                           (set))]
+        (is (= '#{clojure.core/fn defn clojure.core/let let}
+               (resolved "(fn [{defn :a}] (defn x) (let [[let] y] (let z)))")))))
+    (testing "keyword bindings shadowing registered forms are resolved like in full analysis"
+      (let [resolved #(->> (analyze %2 %1)
+                           (tree-seq vector? seq)
+                           (keep (comp :resolve-as meta))
+                           (set))]
+        (doseq [src ["(let [{:keys [:let]} m] (let x y))"
+                     "(fn [{:keys [:a/fn]}] (fn x))"
+                     "(let [{{:keys [:defn]} :b} m] (defn x))"]]
+          (is (= (resolved config/defaults src)
+                 (resolved fast src))
+              src))))
+    (testing "invalid analysis mode is rejected by config"
+      (is (thrown? ImoException (config/build-config {:analysis {:mode :foo}} nil))))))
+
+(defn- analysis-results-by-position [nodes+results]
+  (->> (keep (fn [[node result]]
+               (when-let [result (not-empty (select-keys result [:resolve-as :invocation :invalid? :ignore? :body-expr]))]
+                 [[(:start (meta node)) (first node)] result]))
+             nodes+results)
+       (into {})))
+
+(deftest side-table-analysis
+  (let [all-nodes (fn [root]
+                    (tree-seq vector?
+                              #(let [{:keys [pre children post]} (meta %)]
+                                 (filter vector? (concat % pre children post)))
+                              root))]
+    (testing "results are identical to the results annotated to the ast"
+      (doseq [file ["clojure_core.clj" "perf/app.cljs" "perf/shared.cljc" "perf/macros.clj"]
+              :let [root (imo/read (load-test-file file))
+                    table (imo/analysis-results config/defaults root)]]
+        (is (= (analysis-results-by-position (map (juxt identity meta) (all-nodes (imo/analyze config/defaults root))))
+               (analysis-results-by-position table))
+            file)))
+    (testing "ast nodes are not rebuilt"
+      (let [root (imo/read "#_:imo/ignore (defn foo [x] x) (let [a] b)")
+            table (imo/analysis-results config/defaults root)]
+        (is (= {:resolve-as 'clojure.core/defn :invocation 'clojure.core/defn :ignore? true}
+               (get table (nth root 1))))
+        (is (:invalid? (get table (nth (nth root 2) 2))))))))
+
+(deftest parallel-analysis
+  (let [parallel (assoc-in config/defaults [:analysis :parallel?] true)
+        analyzed-str #(binding [*print-meta* true]
+                        (pr-str (imo/analyze %1 (imo/read %2))))]
+    (testing "results are identical to the sequential analysis"
+      (doseq [file ["clojure_core.clj" "perf/app.cljs" "perf/shared.cljc" "perf/data.edn" "perf/macros.clj"]
+              :let [source (load-test-file file)]]
+        (is (= (analyzed-str config/defaults source)
+               (analyzed-str parallel source))
+            file))
+      (doseq [source ["(defn let [x] x) (let [a 1] a) (def let 2) (let [b] b)"
+                      "(ns a (:require [b :as c])) (c/defn x) (alias 'c 'clojure.core) (c/defn y [] y) (ns d) (c/defn z)"
+                      "(def a) (defn b [] a) #_:imo/ignore (defn c [x] x) (let [d] d) (defn e) #_:imo/ignore"
+                      "(in-ns 'foo) (defn x [] (recur)) (require '[bar :as b]) (b/x 1) (defn x [])"]]
+        (is (= (analyzed-str config/defaults source)
+               (analyzed-str parallel source))
+            source)))
+    (testing "invalid parallel option is rejected by config"
+      (is (thrown? ImoException (config/build-config {:analysis {:parallel? 1}} nil))))))
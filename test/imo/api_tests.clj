@@ -0,0 +1,27 @@
+(ns imo.api-tests
+  (:require [clojure.test :refer :all]
+            [test-utils :refer [load-test-file]])
+  (:import (imo Formatter ImoException)
+           (java.io StringReader StringWriter)))
+
+(deftest java-formatter-api
+  (let [formatter (Formatter/create "{:width 100}")]
+    (testing "string sources"
+      (is (= "(foo bar)\n" (.format formatter "(foo  bar)")))
+      (is (true? (.check formatter "(foo bar)\n")))
+      (is (false? (.check formatter "(foo  bar)\n"))))
+    (testing "reader and writer"
+      (let [out (StringWriter.)]
+        (.format formatter (StringReader. "(foo  bar)") out)
+        (is (= "(foo bar)\n" (str out)))))
+    (testing "invalid config"
+      (is (thrown? ImoException (Formatter/create "{:width 1}"))))))
+
+(deftest java-formatter-api-concurrency
+  (let [formatter (Formatter/create)
+        src (load-test-file "clojure_core.clj")
+        expected (.format formatter src)
+        results (->> (range 16)
+                     (pmap (fn [_] (.format formatter src)))
+                     (doall))]
+    (is (every? #(= expected %) results))))
@@ -0,0 +1,25 @@
+(ns imo.bench-tests
+  (:require [clojure.test :refer :all]
+            [clojure.string :as string]
+            [imo.bench :as bench]
+            [imo.config :as config]))
+
+(deftest benchmark-report
+  (let [report (bench/run-bench config/defaults
+                                [["a.clj" "(ns a)\n(defn f [x]\n  x)\n"]
+                                 ["b.clj" "(def b 1)\n"]]
+                                {:warmup 1 :iterations 2})]
+    (testing "report contains stats of every phase"
+      (is (= 2 (:files report)))
+      (is (= 6 (:lines report)))
+      (is (= #{:read :analyze :format} (set (keys (:phases report)))))
+      (doseq [{:keys [mean-ms p50-ms p99-ms lines-per-sec]} (vals (:phases report))]
+        (is (<= 0 p50-ms p99-ms))
+        (is (<= 0 mean-ms))
+        (is (pos? lines-per-sec)))
+      (is (nat-int? (get-in report [:total :gc-ms]))))
+    (testing "report can be written as json"
+      (let [f (java.io.File/createTempFile "imo-bench" ".json")]
+        (bench/write-json-report report (.getPath f))
+        (is (string/starts-with? (slurp f) "{\"files\":2,\"lines\":6,"))
+        (.delete f)))))
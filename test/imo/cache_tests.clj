@@ -0,0 +1,35 @@
+(ns imo.cache-tests
+  (:require [clojure.test :refer :all]
+            [clojure.java.io :as io]
+            [test-utils :refer [delete-recursively!]]
+            [imo.config :refer [build-config]]
+            [imo.main :as main])
+  (:import (java.io Closeable File)
+           (java.nio.file Files)
+           (java.nio.file.attribute FileAttribute)))
+
+(defn- temp-dir ^File []
+  (.toFile (Files/createTempDirectory "imo-cache" (make-array FileAttribute 0))))
+
+(deftest content-addressed-cache
+  (let [dir (temp-dir)
+        open-cache #(#'main/open-cache (build-config {:cache {:dir (.getPath dir)}} %) true)
+        src "(ns foo)\n"]
+    (try
+      (testing "formatted contents are found regardless of the file path"
+        (with-open [cache ^Closeable (open-cache nil)]
+          (is (false? (main/cached? cache (io/file "a/foo.clj") src)))
+          (main/cache! cache (io/file "a/foo.clj") src))
+        (with-open [cache ^Closeable (open-cache nil)]
+          (is (true? (main/cached? cache (io/file "b/bar.clj") src)))
+          (is (false? (main/cached? cache (io/file "a/foo.clj") (str src " "))))))
+      (testing "config changes invalidate the cached contents"
+        (with-open [cache ^Closeable (open-cache {:width 100})]
+          (is (false? (main/cached? cache (io/file "a/foo.clj") src)))))
+      (testing "contents can be cached by several processes concurrently"
+        (let [caches (repeatedly 4 #(open-cache nil))
+              srcs (map #(str "(def x " % ")\n") (range 20))]
+          (doall (pmap (fn [cache] (run! #(main/cache! cache nil %) srcs)) caches))
+          (is (every? #(main/cached? (first caches) nil %) srcs))))
+      (finally
+        (delete-recursively! dir)))))
@@ -0,0 +1,24 @@
+(ns imo.collection-formatter-tests
+  (:require [clojure.test :refer :all]
+            [clojure.string :as string]
+            [test-utils :refer [analyze]]
+            [imo.formatter.core :as f]
+            [imo.formatter.map-formatter :as map-formatter]
+            [imo.formatter.vector-formatter :as vector-formatter]
+            [imo.layout.core :as l]))
+
+(deftest large-data-literals
+  (let [n 100
+        src (str "{" (string/join " " (map #(str ":key-" % " " (if (even? %) "\"value\"" %)) (range n))) "}\n"
+                 "[" (string/join " " (map #(* % 1000) (range n))) "]")
+        [_ map-node vec-node] (analyze src)]
+    (testing "large collections with terminal children use linear layout"
+      (is (f/large-data-literal? map-node))
+      (is (f/large-data-literal? vec-node))
+      (is (not (f/large-data-literal? (second (analyze "[1 2 3]"))))))
+    (testing "linear layout produces same results as the generic layout"
+      (doseq [[offset width alternative] [[0 80 0] [10 80 1] [70 80 1] [75 80 0]]]
+        (is (= (some-> (map-formatter/format-aligned map-node offset width alternative) (l/render))
+               (some-> (map-formatter/format-aligned-linear map-node offset width alternative) (l/render))))
+        (is (= (some-> (vector-formatter/format-aligned vec-node offset width alternative) (l/render))
+               (some-> (vector-formatter/format-aligned-linear vec-node offset width alternative) (l/render))))))))
@@ -37,3 +37,12 @@
                                        lol/bal foo/baz
                                        foo/baz foo/bar}}
                         nil)))))
+
+(deftest cache-config
+  (testing "cache can be a file, content addressed directory or disabled"
+    (is (= ".imo/cache.json" (:cache (build-config {:cache ".imo/cache.json"} nil))))
+    (is (= {:dir ".imo/cache"} (:cache (build-config {:cache {:dir ".imo/cache"}} nil))))
+    (is (false? (:cache (build-config {:cache false} nil)))))
+  (testing "invalid cache config is rejected"
+    (is (thrown? ImoException (build-config {:cache {:file "foo"}} nil)))
+    (is (thrown? ImoException (build-config {:cache true} nil)))))
@@ -0,0 +1,121 @@
+(ns imo.core-tests
+  (:require [clojure.test :refer :all]
+            [clojure.string :as string]
+            [test-utils :refer [s analyze load-test-file]]
+            [imo.config :as config]
+            [imo.core :as imo]
+            [imo.logger :as logger]))
+
+(deftest formatted-check
+  (let [src (s "(foo bar)"
+               ""
+               ";; comment"
+               "(baz [1 2] {:a 1})"
+               "")]
+    (testing "formatted source passes the check"
+      (is (= src (imo/format config/defaults (analyze src))))
+      (is (true? (imo/formatted? config/defaults (analyze src) src))))
+    (testing "mismatch in any top level form fails the check"
+      (is (false? (imo/formatted? config/defaults (analyze src) (s "(foo  bar)" "" ";; comment" "(baz [1 2] {:a 1})" ""))))
+      (is (false? (imo/formatted? config/defaults (analyze src) (s "(foo bar)" "" ";; comment" "(baz [1 2] {:a 2})" "")))))
+    (testing "trailing content mismatch fails the check"
+      (is (false? (imo/formatted? config/defaults (analyze src) (str src "\n"))))
+      (is (false? (imo/formatted? config/defaults (analyze src) (subs src 0 (dec (count src)))))))))
+
+(defn- format-fresh [config src]
+  (imo/format config (analyze src config)))
+
+(deftest formatting-variants
+  (let [src (s "(foo aaaaaaaaaa bbbbbbbbbb cccccccccc dddddddddd eeeeeeeeee ffffffffff)"
+               ""
+               "(my/def-thing foo [x]"
+               "  x)"
+               "")
+        narrow (assoc config/defaults :width 50)
+        wide (assoc config/defaults :width 100)
+        unrelated (assoc config/defaults :resolve-as '{other/def-thing clojure.core/defn})
+        related (assoc config/defaults :resolve-as '{my/def-thing clojure.core/defn})
+        configs [narrow wide unrelated related]]
+    (testing "target width is respected"
+      (is (not= (format-fresh narrow src) (format-fresh wide src))))
+    (testing "formatting a prepared source produces same results as formatting from scratch"
+      (is (= (mapv #(format-fresh % src) configs)
+             (imo/format-variants src configs))))
+    (testing "source is re-analyzed only if :resolve-as affects the resolved invocations"
+      (let [prepared (imo/prepare config/defaults src)]
+        (is (contains? (:invocations prepared) 'my/def-thing))
+        (let [expected (format-fresh unrelated src)]
+          (with-redefs [imo/analyze (fn [& _] (throw (AssertionError. "re-analyzed")))]
+            (is (= expected (imo/format-prepared prepared unrelated)))))
+        (is (= (format-fresh related src) (imo/format-prepared prepared related)))))))
+
+(deftest concurrent-formatting
+  (let [core-src (load-test-file "clojure_core.clj")
+        sources [(subs core-src 0 (inc (string/index-of core-src "\n(" 10000)))
+                 (s "(ns foo.bar"
+                    "  (:require [clojure.string :as string]))"
+                    ""
+                    "(my/def-thing foo [x] (string/join \",\" [x x]))"
+                    "")]
+        configs [(assoc config/defaults :width 60)
+                 (assoc config/defaults :width 100)
+                 (assoc config/defaults :resolve-as '{my/def-thing clojure.core/defn})]
+        tasks (for [src sources config configs log-level [0 1]]
+                [src config log-level])
+        run (fn [[src config log-level]]
+              (binding [logger/*log-level* log-level
+                        logger/*debug-out* (java.io.StringWriter.)]
+                (format-fresh config src)))
+        expected (mapv run tasks)]
+    (testing "formatting from many threads produces same results as sequential formatting"
+      (is (= expected
+             (->> (repeat 3 tasks)
+                  (apply concat)
+                  (pmap run)
+                  (partition (count tasks))
+                  (apply map vector)
+                  (mapv #(first (distinct %)))))))))
+
+(deftest segmented-diff
+  (testing "diff contains hunks of the changed top level forms only"
+    (is (= (s "--- expected"
+              "+++ actual"
+              "@@ -1,3 +1,3 @@"
+              " (a)"
+              "-(b)"
+              "+(b  )"
+              " "
+              "@@ -5,2 +5,3 @@"
+              " (d"
+              "+"
+              "  x)"
+              "")
+           (imo/diff (s "(a)" "(b)" "" "(c)" "(d" " x)")
+                     (s "(a)" "(b  )" "" "(c)" "(d" "" " x)")))))
+  (testing "equal contents produce an empty diff"
+    (is (= "" (imo/diff "(a)\n" "(a)\n"))))
+  (testing "diff applied to the expected source produces the actual source"
+    (let [expected (load-test-file "clojure_core.clj")
+          actual (string/replace expected "(defn " "(defn  ")
+          patch (->> (string/split-lines (imo/diff expected actual))
+                     (drop 2)
+                     (partition-by #(string/starts-with? % "@@"))
+                     (partition 2))
+          expected-lines (string/split expected #"\n" -1)
+          patched (loop [[[[header] lines] & hunks] patch
+                         pos 0
+                         res []]
+                    (if header
+                      (let [start (dec (Integer/parseInt (second (re-find #"^@@ -(\d+)" header))))]
+                        (recur hunks
+                               (+ start (count (remove #(string/starts-with? % "+") lines)))
+                               (-> (into res (subvec expected-lines pos start))
+                                   (into (keep #(when-not (string/starts-with? % "-") (subs % 1))) lines))))
+                      (into res (subvec expected-lines pos))))]
+      (is (= actual (string/join "\n" patched)))))
+  (testing "diff output can be limited"
+    (let [expected (load-test-file "clojure_core.clj")
+          diff (with-out-str
+                 (imo/print-diff expected (string/replace expected "(defn " "(defn  ") {:max-lines 4}))]
+      (is (= 2 (count (re-seq #"(?m)^@@" diff))))
+      (is (string/ends-with? diff "... diff truncated\n")))))
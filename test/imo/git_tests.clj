@@ -0,0 +1,126 @@
+(ns imo.git-tests
+  (:require [clojure.test :refer :all]
+            [clojure.java.io :as io]
+            [clojure.java.shell :refer [sh]]
+            [test-utils :refer [delete-recursively!]]
+            [imo.git :as git]
+            [imo.logger :as logger]
+            [imo.main :as main])
+  (:import (java.io File StringWriter)
+           (java.nio.file Files)
+           (java.nio.file.attribute FileAttribute)))
+
+(defn- git! [^File dir & args]
+  (let [{:keys [exit out err]} (apply sh "git" (concat args [:dir dir]))]
+    (assert (zero? exit) err)
+    out))
+
+(defn- write! [^File dir path contents]
+  (let [f (io/file dir path)]
+    (io/make-parents f)
+    (spit f contents)))
+
+(def ^:private temp-repos (atom []))
+
+(use-fixtures :each
+  (fn [test]
+    (try
+      (test)
+      (finally
+        (run! delete-recursively! @temp-repos)
+        (reset! temp-repos [])))))
+
+(defn- temp-repo
+  "Creates git repository with the given files committed"
+  ^File [files]
+  (let [dir (.toFile (Files/createTempDirectory "imo-git" (make-array FileAttribute 0)))]
+    (swap! temp-repos conj dir)
+    (git! dir "init" "-q")
+    (git! dir "config" "user.email" "imo@example.com")
+    (git! dir "config" "user.name" "imo")
+    (git! dir "config" "commit.gpgsign" "false")
+    (doseq [[path contents] files]
+      (write! dir path contents))
+    (git! dir "add" "-A")
+    (git! dir "commit" "-q" "--allow-empty" "-m" "initial")
+    dir))
+
+(defn- relative-paths [^File dir files]
+  (set (map #(str (.relativize (.toPath dir) (.toPath (io/file %)))) files)))
+
+(deftest changed-files
+  (let [dir (temp-repo {"a.clj" "(a)\n" "b.clj" "(b)\n" "c.clj" "(c)\n" "d.clj" "(d)\n"})]
+    (binding [git/*dir* dir]
+      (testing "nothing is returned if there are no changes"
+        (is (empty? (git/changed-files "HEAD"))))
+      (testing "modified, renamed and untracked files are returned but deleted files are not"
+        (write! dir "a.clj" "(a 1)\n")
+        (.mkdirs (io/file dir "src"))
+        (git! dir "mv" "b.clj" "src/b.clj")
+        (.delete (io/file dir "c.clj"))
+        (git! dir "rm" "-q" "d.clj")
+        (write! dir "e.clj" "(e)\n")
+        (is (= #{"a.clj" "src/b.clj" "e.clj"}
+               (relative-paths dir (git/changed-files "HEAD"))))))))
+
+(deftest staged-files
+  (let [dir (temp-repo {"a.clj" "(a)\n" "b.clj" "(b)\n" "c.clj" "(c)\n" "d.clj" "(d)\n"})
+        staged-file (fn [path]
+                      (first (filter #(= path (:path %)) (git/staged-files))))]
+    (binding [git/*dir* dir]
+      (testing "nothing is returned if nothing is staged"
+        (write! dir "a.clj" "(a 1)\n")
+        (is (empty? (git/staged-files))))
+      (testing "staged contents are read and written instead of the working tree"
+        (write! dir "a.clj" "(a  1)\n")
+        (git! dir "add" "a.clj")
+        (write! dir "a.clj" "(a  1)\n(unstaged)\n")
+        (is (= "(a  1)\n" (slurp (staged-file "a.clj"))))
+        (spit (staged-file "a.clj") "(a 1)\n")
+        (is (= "(a 1)\n" (git! dir "show" ":a.clj")))
+        (is (= "(a  1)\n(unstaged)\n" (slurp (io/file dir "a.clj")))
+            "working tree with unstaged changes is left as it is"))
+      (testing "working tree is updated if it has no unstaged changes"
+        (write! dir "b.clj" "(b  1)\n")
+        (git! dir "add" "b.clj")
+        (spit (staged-file "b.clj") "(b 1)\n")
+        (is (= "(b 1)\n" (git! dir "show" ":b.clj")))
+        (is (= "(b 1)\n" (slurp (io/file dir "b.clj")))))
+      (testing "renamed files are returned with their new path"
+        (.mkdirs (io/file dir "src"))
+        (git! dir "mv" "c.clj" "src/c.clj")
+        (is (= "(c)\n" (slurp (staged-file "src/c.clj"))))
+        (spit (staged-file "src/c.clj") "(c 1)\n")
+        (is (= "(c 1)\n" (git! dir "show" ":src/c.clj"))))
+      (testing "deleted files are not returned"
+        (git! dir "rm" "-q" "d.clj")
+        (is (= #{"a.clj" "b.clj" "src/c.clj"}
+               (set (map :path (git/staged-files)))))))))
+
+(defn- run-main [& args]
+  (let [out (StringWriter.)]
+    (binding [main/*exit-jvm* false
+              logger/*debug-out* out
+              *out* out
+              *err* out]
+      (apply main/-main args))))
+
+(deftest staged-mode
+  (let [dir (temp-repo {"a.clj" "(a)\n" "b.clj" "(b)\n"})
+        glob (str dir "/**/*.clj")]
+    (write! dir "a.clj" "(a  1)\n")
+    (git! dir "add" "a.clj")
+    (write! dir "a.clj" "(a  1)\n(unstaged)\n")
+    (write! dir "b.clj" "(b  1)\n")
+    (binding [git/*dir* dir]
+      (testing "check mode checks the staged contents and leaves them as they are"
+        (is (= 1 (run-main "--staged" "--check" "--config-edn" "{:cache false}" glob)))
+        (is (= "(a  1)\n" (git! dir "show" ":a.clj")))
+        (is (= "(a  1)\n(unstaged)\n" (slurp (io/file dir "a.clj")))))
+      (testing "format mode formats only the staged contents"
+        (is (= 0 (run-main "--staged" "--config-edn" "{:cache false}" glob)))
+        (is (= "(a 1)\n" (git! dir "show" ":a.clj")))
+        (is (= "(a  1)\n(unstaged)\n" (slurp (io/file dir "a.clj"))))
+        (is (= "(b  1)\n" (slurp (io/file dir "b.clj")))
+            "files that are not staged are not formatted")
+        (is (= 0 (run-main "--staged" "--check" "--config-edn" "{:cache false}" glob)))))))
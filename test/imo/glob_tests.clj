@@ -0,0 +1,113 @@
+(ns imo.glob-tests
+  (:require [clojure.test :refer :all]
+            [clojure.java.io :as io]
+            [test-utils :refer [delete-recursively!]]
+            [imo.glob :as glob])
+  (:import (java.io File)
+           (java.nio.file Files)
+           (java.nio.file.attribute FileAttribute)))
+
+(def ^:private temp-roots (atom []))
+
+(use-fixtures :each
+  (fn [test]
+    (try
+      (test)
+      (finally
+        (run! delete-recursively! @temp-roots)
+        (reset! temp-roots [])))))
+
+(defn- temp-tree [paths]
+  (let [root (.toFile (Files/createTempDirectory "imo-glob" (make-array FileAttribute 0)))]
+    (swap! temp-roots conj root)
+    (doseq [[path contents] paths
+            :let [f (io/file root path)]]
+      (io/make-parents f)
+      (spit f contents))
+    (.getCanonicalPath root)))
+
+(defn- relative-paths [root files]
+  (->> (map #(subs (.getPath ^File %) (inc (count root))) files)
+       (set)))
+
+(deftest files-matching
+  (let [root (temp-tree {"a.clj"           ""
+                         "src/b.clj"       ""
+                         "src/foo/c.cljs"  ""
+                         "src/foo/d.clj"   ""
+                         "target/e.clj"    ""
+                         "test/f.clj"      ""
+                         "test/data/g.clj" ""})]
+    (testing "double star matches zero or more directories"
+      (is (= #{"src/b.clj" "src/foo/d.clj"}
+             (relative-paths root (glob/files (str root "/src/**/*.clj"))))))
+    (testing "single star matches only one directory level"
+      (is (= #{"src/foo/c.cljs" "src/foo/d.clj"}
+             (relative-paths root (glob/files (str root "/*/foo/*"))))))
+    (testing "excluded files and directories are not included"
+      (is (= #{"a.clj" "src/b.clj" "src/foo/d.clj" "test/f.clj"}
+             (relative-paths root (glob/find-files [(str root "/**/*.clj")]
+                                                   [(str root "/target")
+                                                    (str root "/test/data/**")])))))
+    (testing "parallel walking produces same results as sequential walking"
+      (is (= (glob/find-files [(str root "/**/*")] [(str root "/src/foo/*.cljs")])
+             (glob/find-files [(str root "/**/*")] [(str root "/src/foo/*.cljs")] {:parallel? true}))))))
+
+(deftest gitignore-support
+  (let [root (temp-tree {".gitignore"        "target/\n*.cljs\n/b.clj\n"
+                         "a.clj"             ""
+                         "b.clj"             ""
+                         "src/b.clj"         ""
+                         "src/c.cljs"        ""
+                         "src/.gitignore"    "gen/\n!keep.cljs\n"
+                         "src/keep.cljs"     ""
+                         "src/gen/d.clj"     ""
+                         "target/e.clj"      ""
+                         ".git/f.clj"        ""})]
+    (testing "ignored files are included if gitignore is not enabled"
+      (is (= #{"a.clj" "b.clj" "src/b.clj" "src/c.cljs" "src/keep.cljs" "src/gen/d.clj" "target/e.clj" ".git/f.clj"}
+             (relative-paths root (glob/find-files [(str root "/**/*.clj*")] [])))))
+    (testing "nested .gitignore files and negated patterns are supported"
+      (is (= #{"a.clj" "src/b.clj" "src/keep.cljs"}
+             (relative-paths root (glob/find-files [(str root "/**/*.clj*")] [] {:gitignore? true})))))))
+
+(deftest file-matching
+  (let [root (temp-tree {})
+        matches? (glob/file-matcher [(str root "/src/**/*.clj")] [(str root "/src/gen")])]
+    (is (true? (boolean (matches? (io/file root "src/a.clj")))))
+    (is (true? (boolean (matches? (io/file root "src/foo/b.clj")))))
+    (is (false? (boolean (matches? (io/file root "src/foo/c.cljs")))))
+    (is (false? (boolean (matches? (io/file root "src/gen/d.clj")))))
+    (is (false? (boolean (matches? (io/file root "test/e.clj")))))))
+
+(deftest file-matching-with-gitignore
+  (let [root (temp-tree {".gitignore"     "target/\n*.cljs\n"
+                         "src/.gitignore" "gen/\n!keep.cljs\n"})
+        matches? (glob/file-matcher [(str root "/**/*.clj*")] [] {:gitignore? true})]
+    (is (true? (boolean (matches? (io/file root "src/a.clj")))))
+    (is (true? (boolean (matches? (io/file root "src/keep.cljs")))))
+    (is (false? (boolean (matches? (io/file root "src/b.cljs")))))
+    (is (false? (boolean (matches? (io/file root "src/gen/c.clj")))))
+    (is (false? (boolean (matches? (io/file root "target/d.clj")))))
+    (is (false? (boolean (matches? (io/file root ".git/e.clj")))))))
+
+(deftest dir-matching
+  (let [root (temp-tree {".gitignore" "target/\n"})
+        walk? (glob/dir-matcher [(str root "/**/*.clj") (str root "/test/*.clj")] [(str root "/src/gen")] {:gitignore? true})
+        walk-test? (glob/dir-matcher [(str root "/test/*.clj")] [])]
+    (is (true? (walk? (io/file root))))
+    (is (true? (walk? (io/file root "src/foo"))))
+    (is (false? (walk? (io/file root "src/gen"))))
+    (is (false? (walk? (io/file root "src/gen/foo"))))
+    (is (false? (walk? (io/file root "target"))))
+    (is (false? (walk? (io/file root ".git"))))
+    (is (true? (walk-test? (io/file root "test"))))
+    (is (false? (walk-test? (io/file root "test/data"))))
+    (is (false? (walk-test? (io/file root "src"))))))
+
+(deftest glob-base-dirs
+  (let [root (temp-tree {"src/a.clj" ""})]
+    (is (= [(io/file root "src")]
+           (glob/base-dirs [(str root "/src/**/*.clj")
+                            (str root "/src/*.cljs")
+                            (str root "/missing/**/*.clj")])))))
@@ -3,7 +3,7 @@
             [test-utils :refer [s analyze inspect]]))
 
 (def non-relevant-meta-keys
-  [:imo/node :line :col :inner-length :outer-length :inner-lines :outer-lines :pre* :post*])
+  [:imo/node :line :col :inner-length :outer-length :inner-lines :outer-lines :start :end :source :pre* :post*])
 
 (deftest ignore-analysis
   (testing "#_:imo/ignore marks next node as ignored"
@@ -0,0 +1,128 @@
+(ns imo.optimal-layout-tests
+  (:require [clojure.test :refer :all]
+            [clojure.string :as string]
+            [test-utils :refer [s analyze load-test-file]]
+            [imo.config :as config]
+            [imo.core :as imo]
+            [imo.formatter.list-formatter :as list-formatter])
+  (:import (imo ImoException)
+           (java.util Random)))
+
+(defn- fmt
+  ([src] (fmt 50 src))
+  ([width src]
+   (let [optimal (assoc config/defaults :layout :optimal :width width)]
+     (imo/format optimal (analyze src optimal)))))
+
+(defn- fmt-greedy [width src]
+  (imo/format (assoc config/defaults :width width) (analyze src)))
+
+(defn- random-form
+  "Generates source of a random form consisting of lists, vectors,
+   maps and short terminals"
+  [^Random rnd depth]
+  (let [pick #(nth % (.nextInt rnd (count %)))
+        terminal #(pick ["a" "bb" "ccc" "dddd" ":k" ":key" "123" "\"s\"" "'x" "^:m y" "@z"])
+        map-key #(pick ["a" "bb" ":k" ":key" "123" "\"s\""])]
+    (if (or (zero? depth) (zero? (.nextInt rnd 3)))
+      (terminal)
+      (let [n (.nextInt rnd 6)
+            items (repeatedly n #(random-form rnd (dec depth)))]
+        (case (.nextInt rnd 3)
+          0 (str "(" (string/join " " (cons (pick ["foo" "bar" "baz"]) items)) ")")
+          1 (str "[" (string/join " " items) "]")
+          2 (str "{" (string/join " " (interleave (repeatedly n map-key) items)) "}"))))))
+
+(deftest optimal-layout
+  (testing "forms that fit are kept on one line"
+    (is (= "(foo bar [1 2] {:a 1})\n" (fmt "(foo   bar\n [1 2]  {:a 1})"))))
+  (testing "forms that don't fit are broken with the lookahead of the closing parens"
+    (is (= (s "(foo aaaaaaaaaa"
+              "  (bar bbbbbbbbbb cccccccccc dddddddddd eeeeeee))"
+              "")
+           (fmt "(foo aaaaaaaaaa (bar bbbbbbbbbb cccccccccc dddddddddd eeeeeee))")))
+    (is (= (s "(foo aaaaaaaaaa"
+              "  (bar bbbbbbbbbb"
+              "    cccccccccc"
+              "    dddddddddd"
+              "    eeeeeeeee))"
+              "")
+           (fmt "(foo aaaaaaaaaa (bar bbbbbbbbbb cccccccccc dddddddddd eeeeeeeee))")))
+    (is (= (s "(foo aaaaaaaaaa"
+              "  {:b          [1 2 3]"
+              "   :cccccccccc 2"
+              "   :d          \"dddddddddddddddd\"})"
+              "")
+           (fmt "(foo aaaaaaaaaa {:b [1 2 3] :cccccccccc 2 :d \"dddddddddddddddd\"})"))))
+  (testing "trailing comments stay on their lines"
+    (is (= (s "(foo bar  ; comment"
+              "  baz)"
+              "")
+           (fmt "(foo bar ; comment\n baz)"))))
+  (testing "closing paren after a comment is indented like the arguments"
+    (is (= (s "(foo bar  ; comment"
+              "  )"
+              "")
+           (fmt "(foo bar ; comment\n)")))
+    (is (= (s "(foo"
+              "  ; comment"
+              "  )"
+              "")
+           (fmt "(foo\n ; comment\n)")))
+    (is (= (s "(  ; comment"
+              "  )"
+              "")
+           (fmt "( ; comment\n)"))))
+  (testing "formatting does not lose or change any non-whitespace content"
+    (let [src (load-test-file "clojure_core.clj")
+          strip #(string/replace % #"[\s,]+" "")]
+      (is (= (strip src) (strip (fmt src))))))
+  (testing "invalid layout is rejected by config"
+    (is (thrown? ImoException (config/build-config {:layout :foo} nil)))))
+
+(deftest greedy-layouts
+  (testing "nodes without documents are formatted at their position with the remaining width"
+    (doseq [src [(s "(foo aaaaaaaaaa"
+                    "  bbbbbbbbbb"
+                    "  #(cccccccccc dddddddddd"
+                    "     %))"
+                    "")
+                 (s "(foo aaaaaaaaaa"
+                    "  #{bbbbbbbbbb cccccccccc}"
+                    "  #?(:clj  dddddddddd"
+                    "     :cljs eeeeeeeeee)"
+                    "  \"ffff"
+                    "  gggg\")"
+                    "")]]
+      (is (= src (fmt-greedy 30 src)))
+      (is (= src (fmt 30 src)))))
+  (testing "lists with a form specific style are formatted with the style"
+    (try
+      (defmethod list-formatter/format-form 'clojure.core/when [node offset target-width alternative]
+        (list-formatter/format-aligned node offset target-width alternative))
+      (let [src "(foo aaaaaaaaaa (when bbbbbbbbbb cccccccccc))"]
+        (is (= (s "(foo aaaaaaaaaa"
+                  "  (when bbbbbbbbbb"
+                  "        cccccccccc))"
+                  "")
+               (fmt-greedy 80 src)
+               (fmt 80 src))))
+      (finally
+        (remove-method list-formatter/format-form 'clojure.core/when)))))
+
+(deftest optimal-layout-properties
+  (let [rnd (Random. 39)
+        sources (repeatedly 100 #(random-form rnd 4))]
+    (doseq [width [40 60 80]]
+      (testing (str "all lines fit to the target width " width)
+        (let [lines (string/split-lines (fmt width (string/join "\n\n" sources)))]
+          (is (empty? (filter #(> (count %) width) lines)))))
+      (testing (str "sources formatted by the greedy formatter are kept as they are with width " width)
+        (doseq [src (->> (string/split (fmt-greedy width (string/join "\n\n" sources)) #"\n\n")
+                         (map #(str % "\n"))
+                         ;; greedy formatter may exceed the target width because it
+                         ;; doesn't take the closing parens into account, those
+                         ;; forms are laid out differently
+                         (filter #(every? (fn [line] (<= (count line) width)) (string/split-lines %)))
+                         (filter #(= % (fmt-greedy width %))))]
+          (is (= src (fmt width src))))))))
@@ -1,7 +1,8 @@
 (ns imo.preserve-format-tests
   (:require [clojure.test :refer :all]
-            [test-utils :refer [s analyze]]
-            [imo.formatter.core :refer [format-inner-node-preserve-formatting]]
+            [test-utils :refer [s analyze load-test-file]]
+            [imo.util :refer [node?]]
+            [imo.formatter.core :refer [format-inner-node-preserve-formatting *source*]]
             [imo.layout.core :as l]))
 
 (deftest column-offset-shifting
@@ -41,3 +42,39 @@
                       "  " (format-inner-node-preserve-formatting vec-node) ")"]
                      (l/render))
                  (l/render)))))))
+
+(defn- render-preserved [root node offset]
+  (binding [*source* (:source (meta root))]
+    (l/render [(apply str (repeat offset " ")) (format-inner-node-preserve-formatting node)])))
+
+(deftest source-slicing
+  (testing "slicing from source produces same results as reconstructing the node"
+    (let [root (analyze (load-test-file "clojure_core.clj"))
+          nodes (->> (tree-seq node? #(filter node? (next %)) root)
+                     (next)
+                     (remove #(seq (:children* (meta %)))))]
+      (is (empty? (for [node nodes
+                        offset [0 7]
+                        :let [expected (l/render [(apply str (repeat offset " ")) (format-inner-node-preserve-formatting node)])]
+                        :when (not= expected (render-preserved root node offset))]
+                    (meta node))))))
+  (testing "string and comment contents are not mistaken for code"
+    (let [root (analyze (s "(def foo [1 ; \"not a string"
+                           "          \\\" \"multi"
+                           "  line\" 2"
+                           "          3])"))
+          [_ [_ _ _ vec-node]] root]
+      (is (= (s "  [1 ; \"not a string"
+                "   \\\" \"multi"
+                "  line\" 2"
+                "   3]")
+             (render-preserved root vec-node 2)))))
+  (testing "trailing comments inside the preserved node are retained"
+    (let [root (analyze (s "(def foo [1 2"
+                           "          ; trailing"
+                           "          ])"))
+          [_ [_ _ _ vec-node]] root]
+      (is (= (s "[1 2"
+                " ; trailing"
+                " ]")
+             (render-preserved root vec-node 0))))))
@@ -1,15 +1,16 @@
 (ns imo.reader-tests
   (:require [clojure.test :refer :all]
-            [test-utils :refer [s inspect]]
+            [test-utils :refer [s inspect load-test-file]]
             [imo.core :as imo])
-  (:import (imo ImoException)))
+  (:import (imo ImoException SourceReader)
+           (java.util Random)))
 
 (defn- read* [& lines]
   (imo/read (apply s lines)))
 
-(def ^:private line-col {:drop-keys [:imo/node :inner-length :outer-length :inner-lines :outer-lines]})
-(def ^:private meta-nodes-only {:drop-keys [:imo/node :line :col :inner-length :outer-length :inner-lines :outer-lines]})
-(def ^:private stats-only {:drop-keys [:imo/node :line :col]})
+(def ^:private line-col {:drop-keys [:imo/node :inner-length :outer-length :inner-lines :outer-lines :start :end :source]})
+(def ^:private meta-nodes-only {:drop-keys [:imo/node :line :col :inner-length :outer-length :inner-lines :outer-lines :start :end :source]})
+(def ^:private stats-only {:drop-keys [:imo/node :line :col :start :end :source]})
 
 (deftest leaf-nodes-reading
   (testing "all clojure primitives are supported"
@@ -452,6 +453,37 @@
            (-> (read* "^:foo #_1 2")
                (inspect meta-nodes-only))))))
 
+(deftest multiline-text-stats-reading
+  (testing "multi-line strings and regexes contain line statistics"
+    (is (= '[:$
+             {:inner-length 28
+              :inner-lines  2
+              :outer-length 28
+              :outer-lines  2}
+             [:vector
+              {:inner-length 28
+               :inner-lines  2
+               :outer-length 28
+               :outer-lines  2}
+              [:string
+               {:inner-length      16
+                :inner-lines       2
+                :outer-length      16
+                :outer-lines       2
+                :first-line-length 4
+                :last-line-length  5
+                :max-line-length   5}
+               "\"foo\n  bar\n baz\""]
+              [:regex
+               {:inner-length 9
+                :inner-lines  0
+                :outer-length 9
+                :outer-lines  0
+                :pre          ([:space {:inner-length 0 :inner-lines 0 :outer-length 0 :outer-lines 0} " "])}
+               "#\"[a-z]+\""]]]
+           (-> (read* "[\"foo" "  bar" " baz\" #\"[a-z]+\"]")
+               (inspect stats-only))))))
+
 (deftest nested-discard-reading
   (testing "discards can be nested"
     (is (= '[:$ {}
@@ -471,3 +503,98 @@
   (testing "dangling metadata nodes before end of file should throw an exception"
     (is (thrown? ImoException "EOF while reading"
                  (read* "foo ^:bar")))))
+
+(defn- read-chunked [source chunk-length]
+  (binding [*print-meta* true]
+    (try
+      (pr-str (SourceReader/readAst source 2 chunk-length))
+      (catch ImoException ex
+        (str "ERROR: " (.getMessage ex))))))
+
+(deftest parallel-chunked-reading
+  (testing "chunked reading produces identical ast and meta nodes as sequential reading"
+    (let [source (load-test-file "clojure_core.clj")]
+      (doseq [chunk-length [1 1000 50000]]
+        (is (= (read-chunked source 0)
+               (read-chunked source chunk-length))))))
+  (testing "top-level forms are not split from their prefixes"
+    (doseq [source ["(a)\n^{:a 1}\n(b)\n"
+                    "(a) ; comment\n\n#_\n(x)\n\n(b)\n;; end\n"
+                    "'\n(a)\n`\n~@\n(b)"
+                    "#foo\n[1]\n#::{:a 1}\n(c)"
+                    "\\a\n\\(\n\"(\n\"\n#\"\\(\n\"\n(x)\n"
+                    "#?(:clj\n(a)\n:cljs\n(b))\n(c)"
+                    "(a \\\n)\n(b)\n(c)\n"
+                    "\\\n\n(a)\n(b)\n"]]
+      (is (= (read-chunked source 0)
+             (read-chunked source 1))
+          source)))
+  (testing "syntax errors are reported like in sequential reading"
+    (doseq [source ["(a)\n(b\n(c)\n" "(a))\n(b)" "(a)\n^:b\n" "(a)\n\"b\n"
+                    "[#_]; c\nx\n#(}(y)\n~@#:a{#?@(:clj [1])1/2 }"]]
+      (is (= (read-chunked source 0)
+             (read-chunked source 1))
+          source))))
+
+(defn- read-edited [source offset removed-length inserted]
+  (binding [*print-meta* true]
+    (try
+      (pr-str (imo/read-edit (imo/read source) offset removed-length inserted))
+      (catch ImoException ex
+        (str "ERROR: " (.getMessage ex))))))
+
+(defn- read-full [source offset removed-length inserted]
+  (read-chunked (str (subs source 0 offset) inserted (subs source (+ offset removed-length))) 0))
+
+(deftest incremental-edit-reading
+  (testing "edited ast is identical to the ast read from the edited source"
+    (doseq [[source offset removed-length inserted]
+            [["(a)\n(b)\n(c)\n" 5 0 " x"]
+             ["(a)\n(b)\n(c)\n" 4 0 "(x)\n"]
+             ["(a)\n(b)\n(c)\n" 0 4 ""]
+             ["(a)\n(b)\n(c)\n" 12 0 "; end"]
+             ["(a)\n(b)\n(c)" 11 0 "\n(d)"]
+             ["(a)\n(b)\n(c)\n" 5 0 "\n(x"]
+             ["(a)\n(b)\n(c)\n" 5 0 "\""]
+             ["(a) ; foo\n#_\n(b)\n^:c\n(c) (d)\n\n(e)\n" 17 0 "\n"]
+             ["(a)\n'\n(b)\n(c)\n" 6 0 "`"]
+             ["(a)\n(b)\n(c)\n" 3 2 "\r\n\r\n"]
+             ["(a\n)\n(b)\n" 2 0 "\n("]
+             ["" 0 0 "(a)\n"]
+             ["(a)\n(b)\n" 3 1 ""]
+             ["(a)\n#?(:clj\n    1)\n" 3 1 ""]
+             ["(ns a)\n\n(x)" 11 0 "\\\""]
+             ["(ns a)\n\n(de)#_(g)\n(h)\n" 11 0 "f"]
+             ["(a \\\n)\n(b)\n" 3 0 " "]]]
+      (is (= (read-full source offset removed-length inserted)
+             (read-edited source offset removed-length inserted))
+          (pr-str [source offset removed-length inserted]))))
+  (testing "edits in large sources"
+    (let [source (load-test-file "clojure_core.clj")]
+      (doseq [[offset removed-length inserted] [[0 0 ";; header\n"]
+                                                [1000 0 "\n"]
+                                                [50000 10 "(foo\nbar)"]
+                                                [90000 0 "\n(defn x [] "]
+                                                [(count source) 0 "\n(x)"]]]
+        (is (= (read-full source offset removed-length inserted)
+               (read-edited source offset removed-length inserted))
+            (pr-str [offset removed-length inserted])))))
+  (testing "random edits"
+    (let [rnd (Random. 44)
+          ^String core (load-test-file "clojure_core.clj")
+          sources [(subs core 0 (inc (.indexOf core "\n(" 4000)))
+                   "(ns a)\n\n(de)#_(g) ; c\n^:m\n(h \\\n)\n'\n(i)\n#?(:clj\n    1)\n\"s\n  t\"\n\t(j)\n#_\n\n(k)\n"]
+          fragments ["\n" "\n\n" " " "\t" "\"" "\\" "\\\n" "(" ")" "[" "]" "#_" "^:m " "'" ";" "; c\n" "#?(:clj\n 1)" "x" "(y)\n"]]
+      (doseq [_ (range 1000)
+              :let [source (nth sources (.nextInt rnd (count sources)))
+                    offset (.nextInt rnd (inc (count source)))
+                    removed-length (min (- (count source) offset) (if (.nextBoolean rnd) 0 (.nextInt rnd 4)))
+                    inserted (if (pos? (.nextInt rnd 4)) (nth fragments (.nextInt rnd (count fragments))) "")]]
+        (is (= (read-full source offset removed-length inserted)
+               (read-edited source offset removed-length inserted))
+            (pr-str [source offset removed-length inserted])))))
+  (testing "forms before the edit are reused"
+    (let [prev (imo/read "(a)\n(b)\n(c)\n")
+          ast (imo/read-edit prev 8 3 "(x)")]
+      (is (identical? (nth prev 1) (nth ast 1)))
+      (is (identical? (nth prev 2) (nth ast 2))))))
@@ -0,0 +1,106 @@
+(ns imo.watch-tests
+  (:require [clojure.test :refer :all]
+            [clojure.java.io :as io]
+            [test-utils :refer [delete-recursively!]]
+            [imo.watch :as watch])
+  (:import (java.io File)
+           (java.nio.file Files)
+           (java.nio.file.attribute FileAttribute)))
+
+(def ^:private temp-roots (atom []))
+
+(use-fixtures :each
+  (fn [test]
+    (try
+      (test)
+      (finally
+        (run! delete-recursively! @temp-roots)
+        (reset! temp-roots [])))))
+
+(def ^:private ^:const debounce-ms 200)
+
+(defn- temp-tree [paths]
+  (let [root (.toFile (Files/createTempDirectory "imo-watch" (make-array FileAttribute 0)))]
+    (swap! temp-roots conj root)
+    (doseq [[path contents] paths
+            :let [f (io/file root path)]]
+      (io/make-parents f)
+      (spit f contents))
+    (.getCanonicalFile root)))
+
+(defn- wait-until [pred]
+  (loop [n 100]
+    (cond
+      (pred) true
+      (zero? n) false
+      :else (do (Thread/sleep 50)
+                (recur (dec n))))))
+
+(defn- settle! []
+  (Thread/sleep (* 3 debounce-ms)))
+
+(defn- start-watch!
+  "Watches the root directory in a background thread and returns
+   [changes stop!] where `changes` is an atom containing the relative
+   paths of each `on-change` call. Returns once the watch is ready."
+  [^File root watch-dir?]
+  (let [changes (atom [])
+        relative #(subs (.getPath ^File %) (inc (count (.getPath root))))
+        watcher (future
+                  (watch/watch-files! [root] watch-dir? debounce-ms #(swap! changes conj (mapv relative %))))
+        ready (io/file root "ready")]
+    ;; the watch is registered asynchronously, so touch a file until
+    ;; its change is reported
+    (loop [n 20]
+      (spit ready "")
+      (Thread/sleep (* 2 debounce-ms))
+      (when (and (empty? @changes) (pos? n))
+        (recur (dec n))))
+    (settle!)
+    (reset! changes [])
+    [changes #(future-cancel watcher)]))
+
+(defn- changed-paths [changes]
+  (set (apply concat @changes)))
+
+(deftest watching-files
+  (testing "changes received during the debounce time are reported together"
+    (let [root (temp-tree {"src/a.clj" ""})
+          [changes stop!] (start-watch! root (constantly true))]
+      (try
+        (doseq [path ["src/a.clj" "b.clj" "src/c.clj"]]
+          (spit (io/file root path) "(foo)"))
+        (is (wait-until #(seq @changes)))
+        (settle!)
+        (is (= [["b.clj" "src/a.clj" "src/c.clj"]] @changes))
+        (finally
+          (stop!)))))
+  (testing "new sub-directories are watched and their files are reported"
+    (let [root (temp-tree {"src/a.clj" ""})
+          [changes stop!] (start-watch! root (constantly true))]
+      (try
+        (.mkdirs (io/file root "src/new/sub"))
+        (spit (io/file root "src/new/sub/b.clj") "(foo)")
+        (is (wait-until #(contains? (changed-paths changes) "src/new/sub/b.clj")))
+        (settle!)
+        (reset! changes [])
+        (spit (io/file root "src/new/sub/c.clj") "(foo)")
+        (is (wait-until #(contains? (changed-paths changes) "src/new/sub/c.clj")))
+        (finally
+          (stop!)))))
+  (testing "directories rejected by the predicate are not watched"
+    (let [root (temp-tree {"src/a.clj"    ""
+                           "target/b.clj" ""})
+          [changes stop!] (start-watch! root #(not= "target" (.getName ^File %)))]
+      (try
+        (spit (io/file root "target/b.clj") "(foo)")
+        (.mkdirs (io/file root "src/target"))
+        (spit (io/file root "src/target/c.clj") "(foo)")
+        (settle!)
+        (spit (io/file root "src/target/d.clj") "(foo)")
+        (spit (io/file root "src/a.clj") "(foo)")
+        (is (wait-until #(contains? (changed-paths changes) "src/a.clj")))
+        (settle!)
+        (is (= #{"src/a.clj"} (changed-paths changes)))
+        (finally
+          (stop!))))))
@@ -0,0 +1,296 @@
+(ns perf-runner
+  (:require [clojure.java.io :as io]
+            [clojure.string :as string]
+            [clojure.pprint :refer [pprint]]
+            [clojure.tools.cli :as cli]
+            [imo.core :as imo]
+            [imo.config :as config])
+  (:import (java.io File)
+           (java.util Random)))
+
+(def corpus-dir "test/__files__/perf")
+
+(def baseline-file (io/file corpus-dir "baseline.edn"))
+
+(def corpus-files
+  ["test/__files__/clojure_core.clj"
+   (str corpus-dir "/app.cljs")
+   (str corpus-dir "/shared.cljc")
+   (str corpus-dir "/data.edn")
+   (str corpus-dir "/macros.clj")])
+
+(def phases [:read :analyze :format])
+
+;;
+;; Corpus generation
+;;
+
+(def ^:private words
+  ["user" "account" "order" "item" "price" "total" "name" "email" "status"
+   "session" "token" "request" "response" "config" "cache" "event" "handler"
+   "query" "result" "error" "value" "entry" "index" "node" "page" "route"
+   "label" "count" "limit" "offset" "payload" "timestamp" "amount" "line"])
+
+(defn- pick [^Random rnd xs]
+  (nth xs (.nextInt rnd (count xs))))
+
+(defn- ident [rnd n]
+  (string/join "-" (repeatedly n #(pick rnd words))))
+
+(defn- kw [rnd]
+  (str ":" (ident rnd (inc (.nextInt ^Random rnd 2)))))
+
+(defn- ns-kw [rnd]
+  (str ":" (pick rnd words) "/" (ident rnd 1)))
+
+(defn- gen-cljs-component [rnd i]
+  (let [n (str (ident rnd 2) "-view-" i)
+        k (ident rnd 1)]
+    (string/join
+      "\n"
+      [(str "(defn " n)
+       (str "  \"Renders " (string/replace k "-" " ") " section\"")
+       (str "  [{:keys [" k " on-" (ident rnd 1) " loading?] :as props}]")
+       (str "  (let [" k "-state (r/atom nil)")
+       (str "        handle-click (fn [^js e]")
+       (str "                       (.preventDefault e)")
+       (str "                       (rf/dispatch [" (ns-kw rnd) " (.. e -target -value)]))]")
+       (str "    (fn []")
+       (str "      [:div.container {:class (when loading? \"loading\")}")
+       (str "       [:h2 \"" (string/capitalize (ident rnd 2)) "\"]")
+       (str "       (for [{:keys [id " k "]} (:items props)]")
+       (str "         ^{:key id}")
+       (str "         [:li {:on-click handle-click} (str " k " \" (\" id \")\")])")
+       (str "       (when-let [err @" k "-state]")
+       (str "         [:p.error (.-message err)])")
+       (str "       [:button #js {:disabled loading?} \"Submit\"]])))")
+       ""
+       (str "(rf/reg-event-fx")
+       (str "  " (ns-kw rnd))
+       (str "  (fn [{:keys [db]} [_ " k "]]")
+       (str "    {:db       (assoc-in db [" (kw rnd) " " (kw rnd) "] " k ")")
+       (str "     :http-xhrio {:method     :get")
+       (str "                  :uri        (str \"/api/" (ident rnd 1) "/\" " k ")")
+       (str "                  :on-success [" (ns-kw rnd) "]")
+       (str "                  :on-failure [" (ns-kw rnd) "]}}))")
+       ""
+       ""])))
+
+(defn- gen-cljc-fn [rnd i]
+  (let [n (str (ident rnd 2) "-" i)
+        a (ident rnd 1)
+        b (ident rnd 1)]
+    (string/join
+      "\n"
+      [(str "(defn " n)
+       (str "  [" a " " b "]")
+       (str "  #?(:clj  (Math/max (long " a ") (long " b "))")
+       (str "     :cljs (js/Math.max " a " " b ")))")
+       ""
+       (str "(defprotocol I" (string/capitalize (pick rnd words)) i)
+       (str "  (-" (ident rnd 1) " [this])")
+       (str "  (-" (ident rnd 2) " [this " a "]))")
+       ""
+       (str "(defrecord " (string/capitalize (pick rnd words)) "Record" i " [" a " " b "]")
+       (str "  I" (string/capitalize (pick rnd words)) i)
+       (str "  (-" (ident rnd 1) " [_] " a ")")
+       (str "  (-" (ident rnd 2) " [this x] (assoc this " (kw rnd) " x)))")
+       ""
+       (str "(defn parse-" n)
+       (str "  [s]")
+       (str "  (cond")
+       (str "    (nil? s) nil")
+       (str "    (string? s) #?(:clj  (Long/parseLong s)")
+       (str "                   :cljs (js/parseInt s 10))")
+       (str "    :else (let [[" a " & more] s]")
+       (str "            (into [#?@(:clj [" a " ::clj] :cljs [" a " ::cljs])] more))))")
+       ""
+       ""])))
+
+(defn- gen-edn-value [^Random rnd depth]
+  (let [r (.nextInt rnd (if (pos? depth) 10 6))]
+    (case r
+      0 (str (.nextInt rnd 100000))
+      1 (str "\"" (ident rnd 3) "\"")
+      2 (kw rnd)
+      3 (str (.nextBoolean rnd))
+      4 (format "%.2f" (* 1000 (.nextDouble rnd)))
+      5 (str "#inst \"2021-0" (inc (.nextInt rnd 9)) "-1" (.nextInt rnd 10) "T12:00:00.000-00:00\"")
+      (6 7) (str "{" (string/join " " (for [_ (range (+ 2 (.nextInt rnd 4)))]
+                                         (str (kw rnd) " " (gen-edn-value rnd (dec depth)))))
+                 "}")
+      8 (str "[" (string/join " " (repeatedly (+ 1 (.nextInt rnd 6)) #(gen-edn-value rnd (dec depth)))) "]")
+      9 (str "#{" (string/join " " (distinct (repeatedly (+ 1 (.nextInt rnd 4)) #(kw rnd)))) "}"))))
+
+(defn- gen-edn-entry [^Random rnd i]
+  (str " " (ns-kw rnd) "-" i "\n"
+       " {:id #uuid \"" (.toString (java.util.UUID. (.nextLong rnd) (.nextLong rnd))) "\"\n"
+       "  :tags " (gen-edn-value rnd 0) "\n"
+       "  :props " (gen-edn-value rnd 3) "\n"
+       "  :values [" (string/join " " (repeatedly 12 #(.nextInt rnd 1000))) "]}\n"))
+
+(defn- gen-macro [rnd i]
+  (let [n (str "with-" (ident rnd 2) "-" i)
+        a (ident rnd 1)]
+    (string/join
+      "\n"
+      [(str "(defmacro " n)
+       (str "  \"Evaluates body with " (string/replace a "-" " ") " bound\"")
+       (str "  [[binding " a "] & body]")
+       (str "  (let [" a "# (gensym \"" a "\")]")
+       (str "    `(let [~binding ~" a "")
+       (str "           " a "# (atom nil)]")
+       (str "       (try")
+       (str "         (doseq [x# (range 10)")
+       (str "                 :when (odd? x#)]")
+       (str "           (swap! " a "# conj x#))")
+       (str "         ~@body")
+       (str "         (finally")
+       (str "           (when-let [v# @" a "#]")
+       (str "             (println '~binding v#)))))))")
+       ""
+       (str "(defn " (ident rnd 2) "-" i)
+       (str "  [" a " opts]")
+       (str "  (" n " [x " a "]")
+       (str "    (cond-> opts")
+       (str "      (:" (ident rnd 1) " opts) (update " (kw rnd) " inc)")
+       (str "      (seq x) (assoc " (kw rnd) " (for [y x")
+       (str "                                 :let [z (* y y)]")
+       (str "                                 :when (pos? z)]")
+       (str "                             {:y y :z z}))")
+       (str "      :always (-> (dissoc " (kw rnd) ")")
+       (str "                  (merge {" (kw rnd) " " a "})))))")
+       ""
+       ""])))
+
+(defn- gen-file [ns-form gen-entry n-lines seed]
+  (let [rnd (Random. seed)]
+    (loop [sb (StringBuilder. (str ns-form "\n\n"))
+           i 0]
+      (if (< (count (string/split-lines (str sb))) n-lines)
+        (recur (.append sb ^String (gen-entry rnd i)) (inc i))
+        (str sb)))))
+
+(defn generate-corpus!
+  "(Re)generates the synthetic part of the corpus. Generated files are
+   committed to the repository so if they change, the baseline must be
+   updated as well."
+  []
+  (let [n-lines 3000]
+    (spit (io/file corpus-dir "app.cljs")
+          (gen-file "(ns perf.app\n  (:require [reagent.core :as r]\n            [re-frame.core :as rf]))"
+                    gen-cljs-component n-lines 1))
+    (spit (io/file corpus-dir "shared.cljc")
+          (gen-file "(ns perf.shared\n  (:require #?(:clj [clojure.core.async :as a] :cljs [cljs.core.async :as a])))"
+                    gen-cljc-fn n-lines 2))
+    (spit (io/file corpus-dir "data.edn")
+          (str (gen-file "{" gen-edn-entry n-lines 3) "}\n"))
+    (spit (io/file corpus-dir "macros.clj")
+          (gen-file "(ns perf.macros\n  (:require [clojure.string :as string]))"
+                    gen-macro n-lines 4))))
+
+;;
+;; Benchmark
+;;
+
+(defn- timed-ns [f]
+  (let [start (System/nanoTime)
+        result (f)]
+    [(- (System/nanoTime) start) result]))
+
+(defn- run-file
+  "Runs all phases for the given source and returns elapsed
+   nanoseconds for each phase"
+  [source]
+  (let [[read-ns root] (timed-ns #(imo/read source))
+        [analyze-ns ast] (timed-ns #(imo/analyze config/defaults root))
+        [format-ns _] (timed-ns #(imo/format config/defaults ast))]
+    {:read read-ns :analyze analyze-ns :format format-ns}))
+
+(defn- median [xs]
+  (nth (sort xs) (quot (count xs) 2)))
+
+(defn- lines-per-sec [n-lines nanos]
+  (Math/round (double (/ n-lines (/ nanos 1e9)))))
+
+(defn run-benchmark
+  "Formats the corpus `warmup` times without measuring and then
+   `iterations` times, returning median throughput (lines/sec)
+   of each phase, per file and in total"
+  [{:keys [warmup iterations]}]
+  (let [sources (mapv #(let [s (slurp %)] [% s (count (string/split-lines s))]) corpus-files)
+        run-corpus (fn [] (mapv (fn [[_ src]] (run-file src)) sources))]
+    (dotimes [i warmup]
+      (println (str "warmup " (inc i) "/" warmup "..."))
+      (run-corpus))
+    (let [runs (vec (for [i (range iterations)]
+                      (do (println (str "iteration " (inc i) "/" iterations "..."))
+                          (run-corpus))))
+          file-results (vec (for [[idx [path _ n-lines]] (map-indexed vector sources)]
+                              {:file  path
+                               :lines n-lines
+                               :phases (into {} (for [p phases]
+                                                  [p (lines-per-sec n-lines (median (map #(get-in % [idx p]) runs)))]))}))
+          total-lines (reduce + (map #(nth % 2) sources))]
+      {:files  file-results
+       :lines  total-lines
+       :phases (into {} (for [p phases]
+                          [p (lines-per-sec total-lines (median (map #(reduce + (map p %)) runs)))]))})))
+
+(defn- print-results [{:keys [files lines phases]} baseline]
+  (println)
+  (println (format "%-36s %8s %12s %12s %12s" "file" "lines" "read l/s" "analyze l/s" "format l/s"))
+  (doseq [{:keys [file lines phases]} files]
+    (println (format "%-36s %8d %12d %12d %12d" (.getName (io/file file)) lines
+                     (:read phases) (:analyze phases) (:format phases))))
+  (println (format "%-36s %8d %12d %12d %12d" "total" lines
+                   (:read phases) (:analyze phases) (:format phases)))
+  (when baseline
+    (println (format "%-36s %8s %12d %12d %12d" "baseline" ""
+                     (:read baseline 0) (:analyze baseline 0) (:format baseline 0)))))
+
+(defn regressions
+  "Returns phases whose throughput is more than `tolerance` (0..1)
+   lower than in the baseline"
+  [results baseline tolerance]
+  (->> (for [p phases
+             :let [expected (get baseline p)
+                   actual (get results p)]
+             :when (and expected (< actual (* (- 1.0 tolerance) expected)))]
+         {:phase p :expected expected :actual actual})
+       (vec)))
+
+(def ^:private cli-options
+  [[nil "--warmup N" "Warmup iterations" :default 3 :parse-fn #(Long/parseLong %)]
+   [nil "--iterations N" "Measured iterations" :default 5 :parse-fn #(Long/parseLong %)]
+   [nil "--tolerance T" "Allowed throughput regression compared to the baseline, e.g. 0.2 = 20%"
+    :default 0.2 :parse-fn #(Double/parseDouble %)]
+   [nil "--update-baseline" "Writes the results as the new baseline"]
+   [nil "--generate-corpus" "Re-generates the synthetic corpus files"]])
+
+(defn run-from-cli!
+  "Runs the performance benchmark against the corpus and compares the
+   results to the committed baseline. Called from 'lein perf', see
+   project.clj"
+  [& args]
+  (let [{:keys [options errors summary]} (cli/parse-opts args cli-options)]
+    (when (seq errors)
+      (println (string/join "\n" errors))
+      (println summary)
+      (System/exit 2))
+    (when (:generate-corpus options)
+      (generate-corpus!))
+    (let [baseline (when (.exists ^File baseline-file)
+                     (:phases (read-string (slurp baseline-file))))
+          results (run-benchmark options)
+          _ (print-results results baseline)]
+      (if (:update-baseline options)
+        (do (spit baseline-file (with-out-str (pprint (select-keys results [:lines :phases]))))
+            (println "\nBaseline updated:" (.getPath ^File baseline-file))
+            (System/exit 0))
+        (let [failed (regressions (:phases results) baseline (:tolerance options))]
+          (doseq [{:keys [phase expected actual]} failed]
+            (println (format "\nREGRESSION: %s %d lines/sec, baseline %d lines/sec" (name phase) actual expected)))
+          (when-not baseline
+            (println "\nNo baseline found, run with --update-baseline to create one"))
+          (System/exit (if (seq failed) 1 0)))))))
@@ -0,0 +1,236 @@
+(ns scaling-bench
+  (:require [clojure.string :as string]
+            [clojure.tools.cli :as cli]
+            [imo.core :as imo]
+            [imo.config :as config]
+            [imo.formatter.core :as f])
+  (:import (java.lang.management ManagementFactory)
+           (java.util.concurrent.atomic AtomicLong)))
+
+;;
+;; Synthetic source generators. Each generator takes the size parameter
+;; and returns source string. Comment density (0..1) adds comment lines
+;; before the given fraction of the generated elements.
+;;
+
+(defn- commented [density i ^String s]
+  (if (and (pos? density)
+           (< (mod (* i density) 1.0) density))
+    (str ";; comment " i "\n" s)
+    s))
+
+(defn nested-threading
+  "(-> x (f (-> y (f ...))))"
+  [depth density]
+  (loop [i depth
+         s "x"]
+    (if (pos? i)
+      (recur (dec i) (commented density i (str "(-> value-" i " (update :key-" i " inc) (assoc :val " s "))")))
+      s)))
+
+(defn nested-let
+  "(let [a (let [b ...] b)] a)"
+  [depth density]
+  (loop [i depth
+         s "0"]
+    (if (pos? i)
+      (recur (dec i) (commented density i (str "(let [x" i " " s "\n y" i " (inc x" i ")] (+ x" i " y" i "))")))
+      s)))
+
+(defn nested-maps
+  "{:a {:a ... }}"
+  [depth density]
+  (loop [i depth
+         s ":leaf"]
+    (if (pos? i)
+      (recur (dec i) (commented density i (str "{:key-" i " " s " :other-" i " \"value\"}")))
+      s)))
+
+(defn long-line
+  "Single line call with `width` characters"
+  [width _density]
+  (loop [sb (StringBuilder. "(f")
+         i 0]
+    (if (< (.length sb) (dec width))
+      (recur (.append sb (str " arg-" i)) (inc i))
+      (str (.append sb ")")))))
+
+(defn wide-form
+  "Call with `n` arguments, each on its own line"
+  [n density]
+  (str "(f\n" (string/join "\n" (map #(commented density % (str "  (g arg-" % ")")) (range n))) ")"))
+
+(def generators
+  {:nested-threading {:gen nested-threading :sizes [4 8 12 16 20 24 28]}
+   :nested-let       {:gen nested-let :sizes [4 8 12 16 20 24 28]}
+   :nested-maps      {:gen nested-maps :sizes [5 10 15 20 25 30]}
+   :long-line        {:gen long-line :sizes [250 500 1000 1500 2000 3000]}
+   :wide-form        {:gen wide-form :sizes [250 500 1000 2000 4000 8000]}})
+
+;;
+;; Measurement
+;;
+
+(def ^:private ^com.sun.management.ThreadMXBean thread-mx
+  (ManagementFactory/getThreadMXBean))
+
+(defn- measure
+  "Runs f in the current thread and returns [result elapsed-ms allocated-bytes]"
+  [f]
+  (let [tid (.getId (Thread/currentThread))
+        alloc-start (.getThreadAllocatedBytes thread-mx tid)
+        start (System/nanoTime)
+        result (f)
+        end (System/nanoTime)]
+    [result
+     (/ (- end start) 1e6)
+     (- (.getThreadAllocatedBytes thread-mx tid) alloc-start)]))
+
+(defn- run-phases [source]
+  (let [[root read-ms read-bytes] (measure #(imo/read source))
+        [ast analyze-ms analyze-bytes] (measure #(imo/analyze config/defaults root))
+        calls (AtomicLong.)
+        [_ format-ms format-bytes] (measure #(binding [f/*invocation-counter* calls]
+                                               (imo/format config/defaults ast)))]
+    {:read    {:ms read-ms :bytes read-bytes}
+     :analyze {:ms analyze-ms :bytes analyze-bytes}
+     :format  {:ms format-ms :bytes format-bytes :calls (.get calls)}}))
+
+(defn- run-with-timeout
+  "Runs all phases in a dedicated thread and returns the results or
+   ::timeout. The phases don't check for interruption, so a timed out
+   thread is stopped, or waited for if the JVM doesn't support stopping
+   threads, before returning so that it doesn't skew the following
+   measurements."
+  [source timeout-ms]
+  (let [result (promise)
+        thread (doto (Thread. ^Runnable #(deliver result (try
+                                                            (run-phases source)
+                                                            (catch Exception ex ex)))
+                              "scaling-bench")
+                 (.setDaemon true)
+                 (.start))
+        res (deref result timeout-ms ::timeout)]
+    (when (= ::timeout res)
+      (.interrupt thread)
+      (try
+        (.stop thread)
+        (catch UnsupportedOperationException _
+          (println "Waiting for the timed out run to finish...")))
+      (.join thread))
+    (if (instance? Exception res)
+      (throw res)
+      res)))
+
+(defn run-generator
+  "Runs all phases for each size of the generator. Each size is run
+   `warmup` times before the measured run. Sizes after the first
+   timed out size (or its warmup run) are skipped."
+  [gen-name {:keys [gen sizes]} {:keys [density warmup timeout-ms]}]
+  (loop [[size & more] sizes
+         rows []]
+    (if size
+      (let [source (gen size density)
+            res (loop [n warmup]
+                  (let [res (run-with-timeout source timeout-ms)]
+                    (if (or (zero? n) (= ::timeout res))
+                      res
+                      (recur (dec n)))))
+            row {:generator gen-name
+                 :size      size
+                 :chars     (count source)
+                 :result    res}]
+        (println (str (name gen-name) " size=" size
+                      (if (= ::timeout res)
+                        " TIMEOUT"
+                        (str " total=" (format "%.1f" (reduce + (map :ms (vals res)))) "ms"
+                             " format-inner-node calls=" (get-in res [:format :calls])))))
+        (if (= ::timeout res)
+          (conj rows row)
+          (recur more (conj rows row))))
+      rows)))
+
+(defn slope
+  "Returns the least squares slope of log(y) as a function of log(x), i.e.
+   the empirical exponent k of y ~ x^k"
+  [points]
+  (let [pts (->> points
+                 (filter (fn [[x y]] (and (pos? x) (pos? y))))
+                 (map (fn [[x y]] [(Math/log x) (Math/log y)])))
+        n (count pts)]
+    (when (>= n 2)
+      (let [mx (/ (reduce + (map first pts)) n)
+            my (/ (reduce + (map second pts)) n)
+            sxy (reduce + (map (fn [[x y]] (* (- x mx) (- y my))) pts))
+            sxx (reduce + (map (fn [[x _]] (let [d (- x mx)] (* d d))) pts))]
+        (when (pos? sxx)
+          (/ sxy sxx))))))
+
+(defn- exponents
+  "Returns the scaling exponents of time and allocation per phase
+   and the exponent of `format-inner-node` invocations"
+  [rows]
+  (let [ok-rows (remove #(= ::timeout (:result %)) rows)
+        exponent (fn [phase metric]
+                   (slope (map #(vector (:size %) (get-in % [:result phase metric])) ok-rows)))]
+    (into {[:format :calls] (exponent :format :calls)}
+          (for [phase [:read :analyze :format]
+                metric [:ms :bytes]]
+            [[phase metric] (exponent phase metric)]))))
+
+(defn- print-csv [rows]
+  (println "generator,size,chars,phase,ms,bytes,calls")
+  (doseq [{:keys [generator size chars result]} rows]
+    (if (= ::timeout result)
+      (println (str (name generator) "," size "," chars ",timeout,,,"))
+      (doseq [[phase {:keys [ms bytes calls]}] result]
+        (println (str (name generator) "," size "," chars "," (name phase) "," (format "%.3f" ms) "," bytes "," calls))))))
+
+(def ^:private cli-options
+  [[nil "--generator NAME" "Runs only the given generator" :parse-fn keyword]
+   [nil "--density D" "Comment density (0..1)" :default 0.0 :parse-fn #(Double/parseDouble %)]
+   [nil "--warmup N" "Warmup runs per size" :default 2 :parse-fn #(Long/parseLong %)]
+   [nil "--timeout MS" "Timeout per run in milliseconds" :default 30000 :parse-fn #(Long/parseLong %) :id :timeout-ms]
+   [nil "--max-exponent K" "Fails if any time or call count exponent exceeds K" :parse-fn #(Double/parseDouble %)]
+   [nil "--csv FILE" "Writes the results as CSV to the given file"]])
+
+(defn run-from-cli!
+  "Runs the scaling benchmark and prints time and allocation as a
+   function of size. Called from 'lein scaling', see project.clj"
+  [& args]
+  (let [{:keys [options errors summary]} (cli/parse-opts args cli-options)
+        selected (if-let [g (:generator options)]
+                   (select-keys generators [g])
+                   generators)]
+    (when (or (seq errors) (empty? selected))
+      (println (string/join "\n" (or errors ["Unknown generator"])))
+      (println summary)
+      (System/exit 2))
+    (let [results (vec (for [[gen-name gen] (sort-by key selected)]
+                         [gen-name (run-generator gen-name gen options)]))
+          failures (atom [])]
+      (println)
+      (println (format "%-18s %10s %10s %10s %10s %10s %10s %10s" "generator"
+                       "read t" "read a" "analyze t" "analyze a" "format t" "format a" "calls"))
+      (doseq [[gen-name rows] results
+              :let [exps (exponents rows)
+                    timeout? (some #(= ::timeout (:result %)) rows)]]
+        (println (apply format "%-18s %10s %10s %10s %10s %10s %10s %10s"
+                        (str (name gen-name) (when timeout? "*"))
+                        (for [k (concat (for [phase [:read :analyze :format]
+                                              metric [:ms :bytes]]
+                                          [phase metric])
+                                        [[:format :calls]])]
+                          (some->> (get exps k) (format "%.2f")))))
+        (when-let [k (:max-exponent options)]
+          (doseq [[phase metric :as key] [[:read :ms] [:analyze :ms] [:format :ms] [:format :calls]]
+                  :let [e (get exps key)]
+                  :when (or timeout? (and e (> e k)))]
+            (swap! failures conj [gen-name (str (name phase) " " (name metric)) (when-not timeout? e)]))))
+      (println "\n(exponent k of y ~ size^k, * = timed out)")
+      (when-let [file (:csv options)]
+        (spit file (with-out-str (print-csv (mapcat second results)))))
+      (doseq [[gen-name phase e] @failures]
+        (println (str "FAIL: " (name gen-name) " " phase " "
+                      (if e (format "exponent %.2f" e) "timed out"))))
+      (System/exit (if (seq @failures) 1 0)))))
@@ -55,3 +55,11 @@
          (into [(first %) m] (next %)))
        %)
     ast))
+
+(defn delete-recursively!
+  "Deletes the given file, or directory with all its contents"
+  [f]
+  (let [f (io/file f)]
+    (when (.isDirectory f)
+      (run! delete-recursively! (.listFiles f)))
+    (io/delete-file f true)))